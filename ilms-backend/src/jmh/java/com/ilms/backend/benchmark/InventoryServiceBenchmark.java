@@ -0,0 +1,62 @@
+package com.ilms.backend.benchmark;
+
+import com.ilms.backend.dto.BatchRegistrationSummary;
+import com.ilms.backend.entity.Box;
+import com.ilms.backend.entity.Inventory;
+import com.ilms.backend.service.InventoryService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class InventoryServiceBenchmark extends SpringContextBenchmark {
+
+    private static final String MATERIAL_CODE = "MAT-PCB-001";
+
+    @Param({ "100", "1000" })
+    public int batchSize;
+
+    @Param({ "10" })
+    public int itemsPerBox;
+
+    private InventoryService inventoryService;
+    private List<Long> packableIds;
+    private int packCursor;
+    private long batchSeq;
+    private long boxSeq;
+
+    @Override
+    protected void setUp() {
+        inventoryService = bean(InventoryService.class);
+        packableIds = new ArrayList<>();
+        for (Inventory item : inventoryService.registerBatch(MATERIAL_CODE, "BENCH-PACK", 10_000)) {
+            packableIds.add(item.getId());
+        }
+    }
+
+    @Benchmark
+    public List<Inventory> registerBatch() {
+        return inventoryService.registerBatch(MATERIAL_CODE, "BENCH-" + batchSeq++, batchSize);
+    }
+
+    @Benchmark
+    public BatchRegistrationSummary registerBatchBulk() {
+        return inventoryService.registerBatchBulk(MATERIAL_CODE, "BENCH-" + batchSeq++, batchSize);
+    }
+
+    @Benchmark
+    public Box packItemsIntoBox() {
+        if (packCursor + itemsPerBox > packableIds.size()) {
+            packCursor = 0;
+        }
+        List<Long> ids = packableIds.subList(packCursor, packCursor + itemsPerBox);
+        packCursor += itemsPerBox;
+        return inventoryService.packItemsIntoBox(ids, "BENCH-BOX-" + boxSeq++);
+    }
+}
@@ -0,0 +1,31 @@
+package com.ilms.backend.benchmark;
+
+import com.ilms.backend.repository.PackagingHierarchyRepository;
+import com.ilms.backend.service.PackagingHierarchyService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class PackagingHierarchyServiceBenchmark extends SpringContextBenchmark {
+
+    private PackagingHierarchyService hierarchyService;
+    private Long hierarchyId;
+
+    @Override
+    protected void setUp() {
+        hierarchyService = bean(PackagingHierarchyService.class);
+        // DemoDataInitializer seeds a two-level Box/Pallet hierarchy on an empty database
+        hierarchyId = bean(PackagingHierarchyRepository.class).findAll().get(0).getId();
+    }
+
+    @Benchmark
+    public Map<String, Object> preview() {
+        return hierarchyService.preview(hierarchyId);
+    }
+}
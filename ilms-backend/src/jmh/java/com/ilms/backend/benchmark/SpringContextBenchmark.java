@@ -0,0 +1,67 @@
+package com.ilms.backend.benchmark;
+
+import com.ilms.backend.IlmsBackendApplication;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application once per trial against a throw-away, file-backed SQLite
+ * database so each benchmark measures the real service/repository stack.
+ */
+@State(Scope.Benchmark)
+public abstract class SpringContextBenchmark {
+
+    protected ConfigurableApplicationContext context;
+    private Path dbFile;
+
+    @Setup(Level.Trial)
+    public void startContext() throws Exception {
+        dbFile = Files.createTempFile("ilms-bench-", ".db");
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:sqlite:" + dbFile.toAbsolutePath(),
+                "--spring.jpa.show-sql=false",
+                "--supabase.sync.enabled=false",
+                "--logging.level.root=WARN"));
+        args.addAll(extraArgs());
+        context = new SpringApplicationBuilder(IlmsBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run(args.toArray(new String[0]));
+        setUp();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() throws IOException {
+        if (context != null) {
+            context.close();
+        }
+        Files.deleteIfExists(dbFile);
+        Files.deleteIfExists(Path.of(dbFile + "-wal"));
+        Files.deleteIfExists(Path.of(dbFile + "-shm"));
+    }
+
+    protected <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /** Additional {@code --property=value} arguments for the application context. */
+    protected List<String> extraArgs() {
+        return List.of();
+    }
+
+    /** Seeds whatever fixture data the benchmark needs once the context is up. */
+    protected void setUp() {
+    }
+}
@@ -0,0 +1,100 @@
+package com.ilms.backend.benchmark;
+
+import com.ilms.backend.entity.Inventory;
+import com.ilms.backend.entity.TraceEvent;
+import com.ilms.backend.service.InventoryService;
+import com.ilms.backend.service.TraceService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.TransactionException;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mixed scanner load: six threads reading trace histories and inventory pages while two
+ * threads record trace events. Compares the default rollback-journal setup (every connection
+ * may write, contention surfaces as SQLITE_BUSY) with WAL plus the single-writer transaction
+ * manager. Failed operations are reported as the {@code failures} counter rather than
+ * aborting the run.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class SqliteConcurrencyBenchmark extends SpringContextBenchmark {
+
+    @Param({ "rollback-journal", "wal-single-writer" })
+    public String mode;
+
+    @Param({ "2000" })
+    public int itemCount;
+
+    private TraceService traceService;
+    private InventoryService inventoryService;
+    private List<Inventory> items;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Failures {
+        public long failures;
+    }
+
+    @Override
+    protected List<String> extraArgs() {
+        if (mode.equals("rollback-journal")) {
+            return List.of("--ilms.sqlite.journal-mode=DELETE", "--ilms.sqlite.synchronous=FULL",
+                    "--ilms.sqlite.single-writer=false", "--ilms.sqlite.busy-timeout-ms=3000");
+        }
+        return List.of();
+    }
+
+    @Override
+    protected void setUp() {
+        traceService = bean(TraceService.class);
+        inventoryService = bean(InventoryService.class);
+        items = inventoryService.registerBatch("MAT-PCB-001", "BENCH-CONC", itemCount);
+        for (Inventory item : items) {
+            traceService.recordEvent(event(item));
+        }
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(6)
+    public Object read(Failures failures) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try {
+            if (random.nextBoolean()) {
+                return traceService.getHistory(items.get(random.nextInt(items.size())).getSerialNumber());
+            }
+            return inventoryService.page(items.get(random.nextInt(items.size())).getId(), null, "BENCH-CONC",
+                    null, null, 50);
+        } catch (DataAccessException | TransactionException e) {
+            failures.failures++;
+            return e;
+        }
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public Object write(Failures failures) {
+        try {
+            return traceService.recordEvent(event(items.get(ThreadLocalRandom.current().nextInt(items.size()))));
+        } catch (DataAccessException | TransactionException e) {
+            failures.failures++;
+            return e;
+        }
+    }
+
+    private static TraceEvent event(Inventory item) {
+        TraceEvent event = new TraceEvent();
+        event.setEventType("SCAN");
+        event.setStatus("SUCCESS");
+        event.setInventory(item);
+        return event;
+    }
+}
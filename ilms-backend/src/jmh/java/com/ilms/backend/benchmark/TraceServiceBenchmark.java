@@ -0,0 +1,57 @@
+package com.ilms.backend.benchmark;
+
+import com.ilms.backend.dto.TraceEventRow;
+import com.ilms.backend.entity.Inventory;
+import com.ilms.backend.entity.TraceEvent;
+import com.ilms.backend.service.InventoryService;
+import com.ilms.backend.service.TraceService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class TraceServiceBenchmark extends SpringContextBenchmark {
+
+    @Param({ "5000" })
+    public int itemCount;
+
+    @Param({ "5" })
+    public int eventsPerItem;
+
+    private TraceService traceService;
+    private String[] serials;
+
+    @Override
+    protected void setUp() {
+        traceService = bean(TraceService.class);
+        List<Inventory> items = bean(InventoryService.class).registerBatch("MAT-PCB-001", "BENCH-TRACE", itemCount);
+        serials = new String[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            Inventory item = items.get(i);
+            serials[i] = item.getSerialNumber();
+            for (int e = 0; e < eventsPerItem; e++) {
+                TraceEvent event = new TraceEvent();
+                event.setEventType(e == 0 ? "PRODUCTION" : "RECEIVING");
+                event.setStatus("SUCCESS");
+                event.setInventory(item);
+                traceService.recordEvent(event);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<TraceEventRow> getHistoryKnownSerial() {
+        return traceService.getHistory(serials[ThreadLocalRandom.current().nextInt(serials.length)]);
+    }
+
+    @Benchmark
+    public List<TraceEventRow> getHistoryUnknownSerial() {
+        return traceService.getHistory("UNKNOWN-" + ThreadLocalRandom.current().nextInt());
+    }
+}
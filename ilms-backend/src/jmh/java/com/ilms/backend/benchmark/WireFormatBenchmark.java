@@ -0,0 +1,132 @@
+package com.ilms.backend.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ilms.backend.dto.BatchRegistrationSummary;
+import com.ilms.backend.dto.InventoryRow;
+import com.ilms.backend.dto.PageResponse;
+import com.ilms.backend.dto.TraceEventRow;
+import com.ilms.backend.entity.Inventory;
+import com.ilms.backend.entity.TraceEvent;
+import com.ilms.backend.service.InventoryService;
+import com.ilms.backend.service.TraceService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Payload size and encode/decode CPU of the JSON, CBOR and Smile encodings, using the mappers
+ * the HTTP layer uses, on the responses scanners fetch most: an inventory page, a serial's trace
+ * history and a batch registration summary. Sizes (raw and gzipped) are printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark extends SpringContextBenchmark {
+
+    private static final String MATERIAL_CODE = "MAT-PCB-001";
+
+    @Param({ "json", "cbor", "smile" })
+    public String format;
+
+    @Param({ "inventoryPage", "traceHistory", "registration" })
+    public String payload;
+
+    @Param({ "50" })
+    public int pageSize;
+
+    @Param({ "20" })
+    public int eventsPerItem;
+
+    private ObjectMapper mapper;
+    private Object response;
+    private JavaType responseType;
+    private byte[] encoded;
+
+    @Override
+    protected void setUp() {
+        mapper = switch (format) {
+            case "json" -> bean(ObjectMapper.class);
+            case "cbor" -> bean(MappingJackson2CborHttpMessageConverter.class).getObjectMapper();
+            case "smile" -> bean(MappingJackson2SmileHttpMessageConverter.class).getObjectMapper();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+
+        // Realistic rows: located items with material and location names, and a scanned history
+        InventoryService inventoryService = bean(InventoryService.class);
+        List<Inventory> items = inventoryService.registerBatch(MATERIAL_CODE, "BENCH-WIRE", pageSize);
+        bean(JdbcTemplate.class).update("UPDATE inventory SET location_id ="
+                + " (SELECT id FROM locations WHERE parent_id IS NOT NULL ORDER BY code LIMIT 1)");
+        TraceService traceService = bean(TraceService.class);
+        Inventory traced = items.get(0);
+        for (int e = 0; e < eventsPerItem; e++) {
+            TraceEvent event = new TraceEvent();
+            event.setEventType(e == 0 ? "PRODUCTION" : "RECEIVING");
+            event.setStatus("SUCCESS");
+            event.setLocation("DOCK-" + (e % 4 + 1));
+            event.setUser("scanner-" + (e % 3 + 1));
+            event.setNotes("Scanned at gate " + (e % 4 + 1));
+            event.setInventory(traced);
+            traceService.recordEvent(event);
+        }
+
+        switch (payload) {
+            case "inventoryPage" -> {
+                response = inventoryService.page(null, null, "BENCH-WIRE", null, null, pageSize);
+                responseType = mapper.constructType(new TypeReference<PageResponse<InventoryRow>>() {
+                });
+            }
+            case "traceHistory" -> {
+                response = traceService.getHistory(traced.getSerialNumber());
+                responseType = mapper.constructType(new TypeReference<List<TraceEventRow>>() {
+                });
+            }
+            case "registration" -> {
+                response = inventoryService.registerBatchBulk(MATERIAL_CODE, "BENCH-WIRE-BULK", 1000);
+                responseType = mapper.constructType(BatchRegistrationSummary.class);
+            }
+            default -> throw new IllegalArgumentException("Unknown payload " + payload);
+        }
+        encoded = encode();
+        System.out.printf("%n%s %s: %d bytes, %d gzipped%n", payload, format, encoded.length, gzipped(encoded));
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        try {
+            return mapper.writeValueAsBytes(response);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Benchmark
+    public Object decode() {
+        try {
+            return mapper.readValue(encoded, responseType);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int gzipped(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.size();
+    }
+}
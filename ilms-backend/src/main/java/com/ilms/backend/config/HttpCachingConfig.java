@@ -0,0 +1,56 @@
+package com.ilms.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Cache-Control policies for single-resource reads, and the conditional GET check shared by
+ * them. A max-age of 0 means clients store the response but revalidate it on every use.
+ */
+@Component
+public class HttpCachingConfig {
+
+    @Value("${ilms.http.cache.material-max-age:0s}")
+    private Duration materialMaxAge;
+
+    @Value("${ilms.http.cache.location-max-age:30s}")
+    private Duration locationMaxAge;
+
+    public CacheControl forMaterials() {
+        return policy(materialMaxAge);
+    }
+
+    public CacheControl forLocations() {
+        return policy(locationMaxAge);
+    }
+
+    /**
+     * Derives a strong ETag and Last-Modified from {@code updatedAt} and checks them against
+     * If-None-Match (or, without it, If-Modified-Since). Returns {@code true} when the client's
+     * copy is current and the request should be answered 304; for GET and HEAD the validators
+     * are set on the response either way. Rows without a timestamp get no validators.
+     */
+    public static boolean notModified(WebRequest request, LocalDateTime updatedAt) {
+        if (updatedAt == null || updatedAt.equals(LocalDateTime.MIN)) {
+            return false;
+        }
+        Instant instant = updatedAt.atZone(ZoneId.systemDefault()).toInstant();
+        // Full precision, so two changes within the same second still get different tags
+        String etag = "\"" + Long.toString(instant.getEpochSecond(), 36) + "." + instant.getNano() + "\"";
+        return request.checkNotModified(etag, instant.toEpochMilli());
+    }
+
+    private static CacheControl policy(Duration maxAge) {
+        if (maxAge.isZero()) {
+            return CacheControl.noCache();
+        }
+        return CacheControl.maxAge(maxAge).mustRevalidate();
+    }
+}
@@ -0,0 +1,76 @@
+package com.ilms.backend.config;
+
+import com.ilms.backend.service.InventoryStageCounters;
+import com.ilms.backend.service.LocationTreeCache;
+import com.ilms.backend.service.MasterDefinitionDictionary;
+import com.ilms.backend.service.SerialAllocator;
+import com.ilms.backend.service.SerialBloomFilter;
+import com.ilms.backend.service.TraceIngestService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Publishes the numeric entries of the in-process stats maps (the same ones served by the
+ * {@code /stats} endpoints) as gauges, so they reach Prometheus next to the HTTP, service,
+ * Hibernate and Hikari meters that Spring Boot binds itself.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder ilmsStatsMetrics(LocationTreeCache locationTreeCache, TraceIngestService traceIngestService,
+            SerialBloomFilter serialFilter, SerialAllocator serialAllocator, InventoryStageCounters stageCounters,
+            MasterDefinitionDictionary definitionDictionary, PlatformTransactionManager transactionManager) {
+        // Read through the target so scrapes do not show up as ilms.service samples
+        Object ingestTarget = AopProxyUtils.getSingletonTarget(traceIngestService);
+        TraceIngestService ingest = ingestTarget instanceof TraceIngestService t ? t : traceIngestService;
+        return registry -> {
+            bindStats(registry, "ilms.location.tree", locationTreeCache::getStats);
+            bindStats(registry, "ilms.trace.ingest", ingest::getStats);
+            bindStats(registry, "ilms.trace.serial.filter", serialFilter::getStats);
+            bindStats(registry, "ilms.serial.allocator", serialAllocator::getStats);
+            bindStats(registry, "ilms.inventory.stages", stageCounters::getStats);
+            bindStats(registry, "ilms.master.dictionary", definitionDictionary::getStats);
+            if (transactionManager instanceof SingleWriterJpaTransactionManager singleWriter) {
+                bindStats(registry, "ilms.sqlite.writer", singleWriter::getStats);
+            }
+        };
+    }
+
+    /**
+     * One gauge per numeric or boolean entry present when the registry is bound; every scrape
+     * reads a fresh stats map.
+     */
+    private static void bindStats(MeterRegistry registry, String prefix, Supplier<Map<String, Object>> stats) {
+        stats.get().forEach((key, value) -> {
+            if (value instanceof Number || value instanceof Boolean) {
+                Gauge.builder(prefix + "." + dotted(key), stats, s -> toDouble(s.get().get(key)))
+                        .strongReference(true)
+                        .register(registry);
+            }
+        });
+    }
+
+    private static double toDouble(Object value) {
+        if (value instanceof Number n) {
+            return n.doubleValue();
+        }
+        if (value instanceof Boolean b) {
+            return b ? 1 : 0;
+        }
+        return Double.NaN;
+    }
+
+    // rootHits -> root.hits, which Prometheus renders as root_hits
+    private static String dotted(String camelCase) {
+        return camelCase.replaceAll("([a-z0-9])([A-Z])", "$1.$2").toLowerCase();
+    }
+}
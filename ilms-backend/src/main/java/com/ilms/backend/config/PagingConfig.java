@@ -0,0 +1,29 @@
+package com.ilms.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+@Component
+public class PagingConfig {
+
+    @Value("${ilms.paging.default-size:50}")
+    private int defaultSize;
+
+    @Value("${ilms.paging.max-size:500}")
+    private int maxSize;
+
+    /**
+     * Resolves the requested page size, falling back to the default and capping at the maximum.
+     */
+    public int resolveLimit(Integer requested) {
+        if (requested == null) {
+            return defaultSize;
+        }
+        if (requested < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be at least 1");
+        }
+        return Math.min(requested, maxSize);
+    }
+}
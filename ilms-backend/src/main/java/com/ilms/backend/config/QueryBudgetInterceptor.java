@@ -0,0 +1,106 @@
+package com.ilms.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Counts the SQL statements of every request and checks them against the endpoint's
+ * {@link QueryBudget}, or {@code ilms.query-budget.default-max} for endpoints without one. An
+ * N+1 load shows up as a request far over budget.
+ *
+ * In {@code WARN} mode an overrun is logged and counted; in {@code FAIL} mode (meant for dev
+ * and CI runs) the first statement over budget throws, so the request fails with a 500 that
+ * names the endpoint. Per-request counts are published as {@code ilms.http.statements}.
+ *
+ * Statements are only counted when {@code ilms.query-budget.count-statements} wraps the data
+ * source; without it the interceptor stays off whatever the mode.
+ */
+@Component
+public class QueryBudgetInterceptor implements AsyncHandlerInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger(QueryBudgetInterceptor.class);
+
+    public enum Mode {
+        OFF, WARN, FAIL
+    }
+
+    private static final String SCOPE_ATTRIBUTE = QueryBudgetInterceptor.class.getName() + ".scope";
+
+    private final MeterRegistry registry;
+    private final Mode mode;
+    private final int defaultMax;
+
+    public QueryBudgetInterceptor(MeterRegistry registry,
+            @Value("${ilms.query-budget.mode:WARN}") Mode mode,
+            @Value("${ilms.query-budget.default-max:50}") int defaultMax,
+            @Value("${ilms.query-budget.count-statements:false}") boolean countStatements) {
+        this.registry = registry;
+        this.mode = countStatements ? mode : Mode.OFF;
+        this.defaultMax = defaultMax;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (mode == Mode.OFF || !(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        QueryBudget budget = method.getMethodAnnotation(QueryBudget.class);
+        String name = request.getMethod() + " " + uri(request);
+        request.setAttribute(SCOPE_ATTRIBUTE,
+                StatementCounter.open(name, budget != null ? budget.value() : defaultMax, mode == Mode.FAIL));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        if (!(request.getAttribute(SCOPE_ATTRIBUTE) instanceof StatementCounter.Scope scope)) {
+            return;
+        }
+        request.removeAttribute(SCOPE_ATTRIBUTE);
+        scope.close();
+        String uri = uri(request);
+        DistributionSummary.builder("ilms.http.statements")
+                .description("SQL statements executed per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(registry)
+                .record(scope.getStatements());
+        if (scope.isOverBudget()) {
+            Counter.builder("ilms.http.statements.over.budget")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(registry)
+                    .increment();
+            logger.warn("{} executed {} SQL statements, over its budget of {}", scope.getName(),
+                    scope.getStatements(), scope.getBudget());
+        }
+    }
+
+    /**
+     * Streaming responses finish on another thread, which gets its own scope when the request is
+     * dispatched again; close this thread's scope so it does not leak.
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        if (request.getAttribute(SCOPE_ATTRIBUTE) instanceof StatementCounter.Scope scope) {
+            request.removeAttribute(SCOPE_ATTRIBUTE);
+            scope.close();
+        }
+    }
+
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -1,17 +1,20 @@
 package com.ilms.backend.config;
 
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import javax.cache.CacheManager;
 import javax.sql.DataSource;
 import java.util.HashMap;
 import java.util.Map;
@@ -22,6 +25,44 @@ import com.zaxxer.hikari.HikariDataSource;
 @EnableJpaRepositories(basePackages = "com.ilms.backend.repository", entityManagerFactoryRef = "entityManagerFactory", transactionManagerRef = "transactionManager")
 public class SQLiteConfig {
 
+    @Value("${spring.jpa.show-sql:false}")
+    private boolean showSql;
+
+    // Feeds the hibernate.* meters on /actuator/prometheus
+    @Value("${spring.jpa.properties.hibernate.generate_statistics:false}")
+    private boolean generateStatistics;
+
+    // WAL lets readers run alongside the single writer; NORMAL only syncs at checkpoints under WAL
+    @Value("${ilms.sqlite.journal-mode:WAL}")
+    private String journalMode;
+
+    @Value("${ilms.sqlite.synchronous:NORMAL}")
+    private String synchronous;
+
+    @Value("${ilms.sqlite.busy-timeout-ms:5000}")
+    private int busyTimeoutMs;
+
+    @Value("${ilms.sqlite.single-writer:true}")
+    private boolean singleWriter;
+
+    @Value("${ilms.sqlite.writer-wait-ms:30000}")
+    private long writerWaitMs;
+
+    @Value("${ilms.sqlite.read-pool-size:4}")
+    private int readPoolSize;
+
+    // Dirty-checked updates (e.g. packing items into a box) go out as one JDBC batch
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int jdbcBatchSize;
+
+    // Counts statements for the per-request query budgets (QueryBudgetInterceptor); on in the test profile
+    @Value("${ilms.query-budget.count-statements:false}")
+    private boolean countStatements;
+
+    // A read replica for read-only transactions; empty means a second pool on the primary database
+    @Value("${ilms.datasource.read-url:}")
+    private String readUrl;
+
     @Bean
     @Primary
     @ConfigurationProperties("spring.datasource")
@@ -29,17 +70,53 @@ public class SQLiteConfig {
         return new DataSourceProperties();
     }
 
+    /**
+     * What JPA, JdbcTemplate and the transaction manager all use. Connections are fetched lazily
+     * on the first statement, so by then the transaction's read-only flag is known:
+     * {@code @Transactional(readOnly = true)} work runs on {@link #readDataSource}, everything
+     * else on {@link #writeDataSource}.
+     */
     @Bean
     @Primary
+    public DataSource dataSource(@Qualifier("writeDataSource") DataSource writeDataSource,
+            @Qualifier("readDataSource") DataSource readDataSource) {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(writeDataSource);
+        routing.setReadOnlyDataSource(readDataSource);
+        return countStatements ? new StatementCountingDataSource(routing) : routing;
+    }
+
+    @Bean
     @ConfigurationProperties("spring.datasource.configuration")
-    public DataSource dataSource(DataSourceProperties properties) {
-        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    public DataSource writeDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("sqlite-write");
+        applyPragmas(dataSource);
+        return dataSource;
+    }
+
+    /**
+     * Pool for read-only transactions and long reads (exports), so they neither hold write
+     * connections nor block the writer. SQLite connections are query-only.
+     */
+    @Bean
+    public DataSource readDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (!readUrl.isBlank()) {
+            dataSource.setJdbcUrl(readUrl);
+        }
+        dataSource.setPoolName("sqlite-read");
+        dataSource.setMaximumPoolSize(readPoolSize);
+        if (applyPragmas(dataSource)) {
+            dataSource.setConnectionInitSql("PRAGMA query_only = 1");
+        }
+        return dataSource;
     }
 
     @Bean
     @Primary
     public LocalContainerEntityManagerFactoryBean entityManagerFactory(
-            @Qualifier("dataSource") DataSource dataSource) {
+            @Qualifier("dataSource") DataSource dataSource, SecondLevelCacheConfig cacheConfig,
+            @Qualifier("hibernateCacheManager") CacheManager hibernateCacheManager) {
         LocalContainerEntityManagerFactoryBean em = new LocalContainerEntityManagerFactoryBean();
         em.setDataSource(dataSource);
         em.setPackagesToScan("com.ilms.backend.entity");
@@ -50,7 +127,11 @@ public class SQLiteConfig {
         Map<String, Object> properties = new HashMap<>();
         properties.put("hibernate.hbm2ddl.auto", "update");
         properties.put("hibernate.dialect", "org.hibernate.community.dialect.SQLiteDialect");
-        properties.put("hibernate.show_sql", "true");
+        properties.put("hibernate.show_sql", String.valueOf(showSql));
+        properties.put("hibernate.generate_statistics", String.valueOf(generateStatistics));
+        properties.put("hibernate.jdbc.batch_size", String.valueOf(jdbcBatchSize));
+        properties.put("hibernate.order_updates", "true");
+        properties.putAll(cacheConfig.hibernateProperties(hibernateCacheManager));
         em.setJpaPropertyMap(properties);
 
         return em;
@@ -60,6 +141,23 @@ public class SQLiteConfig {
     @Primary
     public PlatformTransactionManager transactionManager(
             @Qualifier("entityManagerFactory") LocalContainerEntityManagerFactoryBean entityManagerFactory) {
+        if (singleWriter) {
+            return new SingleWriterJpaTransactionManager(entityManagerFactory.getObject(), writerWaitMs);
+        }
         return new JpaTransactionManager(entityManagerFactory.getObject());
     }
+
+    /**
+     * Passes the pragmas as sqlite-jdbc connection properties, so every pooled connection gets
+     * them when it is opened. Returns false (and does nothing) for non-SQLite URLs.
+     */
+    private boolean applyPragmas(HikariDataSource dataSource) {
+        if (dataSource.getJdbcUrl() == null || !dataSource.getJdbcUrl().startsWith("jdbc:sqlite:")) {
+            return false;
+        }
+        dataSource.addDataSourceProperty("journal_mode", journalMode);
+        dataSource.addDataSourceProperty("synchronous", synchronous);
+        dataSource.addDataSourceProperty("busy_timeout", String.valueOf(busyTimeoutMs));
+        return true;
+    }
 }
@@ -0,0 +1,93 @@
+package com.ilms.backend.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level and query cache for the read-mostly master data (materials, master
+ * definitions, packaging hierarchies and levels, label templates), held in Caffeine through JCache.
+ *
+ * Every region is created here from {@code ilms.cache.regions.<region>.max-size} and {@code .ttl}
+ * before Hibernate starts, and Hibernate refuses to start on a region that is not configured.
+ * The cached entities are only written through JPA, so Hibernate keeps the regions and the query
+ * cache consistent on every committed change.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ilms.cache")
+@Getter
+@Setter
+public class SecondLevelCacheConfig {
+
+    // Hibernate's query cache regions; timestamps must never expire or be evicted
+    public static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    private boolean enabled = true;
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Region {
+        private long maxSize = 1000;
+        private Duration ttl = Duration.ofHours(1);
+    }
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // A manager of its own, so a second context in the same JVM starts with empty regions
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("ilms-hibernate-" + System.identityHashCode(this)), getClass().getClassLoader());
+        regions.forEach((name, region) -> {
+            if (!name.equals(UPDATE_TIMESTAMPS_REGION)) {
+                cacheManager.createCache(name, configuration(region.getMaxSize(), region.getTtl()));
+            }
+        });
+        if (cacheManager.getCache(QUERY_RESULTS_REGION) == null) {
+            Region defaults = new Region();
+            cacheManager.createCache(QUERY_RESULTS_REGION, configuration(defaults.getMaxSize(), defaults.getTtl()));
+        }
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, configuration(0, null));
+        return cacheManager;
+    }
+
+    /**
+     * The Hibernate settings that switch the caches on, or off when {@code ilms.cache.enabled} is false.
+     */
+    public Map<String, Object> hibernateProperties(CacheManager cacheManager) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("hibernate.cache.use_second_level_cache", String.valueOf(enabled));
+        properties.put("hibernate.cache.use_query_cache", String.valueOf(enabled));
+        if (enabled) {
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put("hibernate.javax.cache.cache_manager", cacheManager);
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+            properties.put("jakarta.persistence.sharedCache.mode", "ENABLE_SELECTIVE");
+        }
+        return properties;
+    }
+
+    // maxSize 0 and no ttl mean unbounded
+    private static CaffeineConfiguration<Object, Object> configuration(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(maxSize > 0 ? OptionalLong.of(maxSize) : OptionalLong.empty());
+        configuration.setExpireAfterWrite(ttl != null ? OptionalLong.of(ttl.toNanos()) : OptionalLong.empty());
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
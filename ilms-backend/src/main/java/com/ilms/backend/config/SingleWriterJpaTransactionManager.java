@@ -0,0 +1,101 @@
+package com.ilms.backend.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lets one read-write transaction run at a time. SQLite only ever has one writer per database;
+ * queueing writers on a fair lock here turns {@code SQLITE_BUSY} retries, and WAL snapshots that
+ * fail to upgrade to a write lock mid-transaction, into an orderly wait. Read-only transactions
+ * do not take the lock and run alongside the writer under WAL.
+ *
+ * The lock is reentrant, so a {@code REQUIRES_NEW} write inside a write transaction on the same
+ * thread does not block on itself.
+ */
+public class SingleWriterJpaTransactionManager extends JpaTransactionManager {
+
+    private final ReentrantLock writeLock = new ReentrantLock(true);
+    // Per thread, whether each open transaction took the lock; begin and cleanup nest strictly
+    private final ThreadLocal<Deque<Boolean>> held = ThreadLocal.withInitial(ArrayDeque::new);
+    private final long maxWaitMillis;
+
+    private final LongAdder writeTransactions = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong longestWaitNanos = new AtomicLong();
+
+    public SingleWriterJpaTransactionManager(EntityManagerFactory emf, long maxWaitMillis) {
+        super(emf);
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        boolean write = !definition.isReadOnly();
+        if (write) {
+            acquire();
+        }
+        held.get().push(write);
+        try {
+            super.doBegin(transaction, definition);
+        } catch (RuntimeException | Error e) {
+            release();
+            throw e;
+        }
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        try {
+            super.doCleanupAfterCompletion(transaction);
+        } finally {
+            release();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("writeTransactions", writeTransactions.sum());
+        stats.put("queuedWriters", writeLock.getQueueLength());
+        stats.put("totalWaitMillis", waitNanos.sum() / 1_000_000);
+        stats.put("longestWaitMillis", longestWaitNanos.get() / 1_000_000);
+        return stats;
+    }
+
+    private void acquire() {
+        long started = System.nanoTime();
+        try {
+            if (!writeLock.tryLock(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                throw new CannotCreateTransactionException(
+                        "Timed out after " + maxWaitMillis + " ms waiting for the SQLite writer");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CannotCreateTransactionException("Interrupted while waiting for the SQLite writer", e);
+        }
+        long waited = System.nanoTime() - started;
+        writeTransactions.increment();
+        waitNanos.add(waited);
+        longestWaitNanos.accumulateAndGet(waited, Math::max);
+    }
+
+    private void release() {
+        Deque<Boolean> stack = held.get();
+        if (!stack.isEmpty() && stack.pop()) {
+            writeLock.unlock();
+        }
+        if (stack.isEmpty()) {
+            held.remove();
+        }
+    }
+}
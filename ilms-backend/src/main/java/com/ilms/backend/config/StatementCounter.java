@@ -0,0 +1,95 @@
+package com.ilms.backend.config;
+
+/**
+ * Counts the JDBC statements a thread executes inside an open {@link Scope}. Fed by
+ * {@link StatementCountingDataSource}; scopes are opened per request by
+ * {@link QueryBudgetInterceptor} and can be opened directly around any block of code:
+ *
+ * <pre>
+ * try (StatementCounter.Scope scope = StatementCounter.open("pack", 3, true)) {
+ *     inventoryService.packItemsIntoBox(ids, serial);
+ * } // throws QueryBudgetExceededException on the 4th statement
+ * </pre>
+ *
+ * Statements run by other threads (the trace ingest writer, the scheduler) are not counted.
+ */
+public final class StatementCounter {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private StatementCounter() {
+    }
+
+    /**
+     * Opens a scope on the current thread. A {@code budget} of 0 or less means unlimited; with
+     * {@code failFast} the statement that exceeds the budget throws instead of running.
+     */
+    public static Scope open(String name, int budget, boolean failFast) {
+        Scope scope = new Scope(name, budget, failFast, CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static void beforeStatement() {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.count();
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final String name;
+        private final int budget;
+        private final boolean failFast;
+        private final Scope enclosing;
+        private int statements;
+        private boolean closed;
+
+        private Scope(String name, int budget, boolean failFast, Scope enclosing) {
+            this.name = name;
+            this.budget = budget;
+            this.failFast = failFast;
+            this.enclosing = enclosing;
+        }
+
+        private void count() {
+            statements++;
+            if (failFast && isOverBudget()) {
+                throw new QueryBudgetExceededException(name, budget);
+            }
+            if (enclosing != null) {
+                enclosing.count();
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getBudget() {
+            return budget;
+        }
+
+        public int getStatements() {
+            return statements;
+        }
+
+        public boolean isOverBudget() {
+            return budget > 0 && statements > budget;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                CURRENT.set(enclosing);
+            }
+        }
+    }
+
+    public static class QueryBudgetExceededException extends RuntimeException {
+        public QueryBudgetExceededException(String name, int budget) {
+            super(name + " exceeded its budget of " + budget + " SQL statements");
+        }
+    }
+}
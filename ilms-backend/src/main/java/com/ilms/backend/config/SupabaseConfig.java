@@ -1,5 +1,6 @@
 package com.ilms.backend.config;
 
+import com.ilms.backend.supabase.service.SupabaseBatchWriter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
@@ -30,6 +31,15 @@ public class SupabaseConfig {
     @Value("${supabase.db.password:postgres}")
     private String supabaseDbPassword;
 
+    @Value("${supabase.sync.chunk-size:500}")
+    private int syncChunkSize;
+
+    @Value("${spring.jpa.show-sql:false}")
+    private boolean showSql;
+
+    @Value("${spring.jpa.properties.hibernate.generate_statistics:false}")
+    private boolean generateStatistics;
+
     @Bean
     public DataSource supabaseDataSource() {
         HikariDataSource dataSource = new HikariDataSource();
@@ -37,9 +47,15 @@ public class SupabaseConfig {
         dataSource.setUsername(supabaseDbUsername);
         dataSource.setPassword(supabaseDbPassword);
         dataSource.setDriverClassName("org.postgresql.Driver");
+        dataSource.setPoolName("supabase");
         return dataSource;
     }
 
+    @Bean
+    public SupabaseBatchWriter supabaseBatchWriter() {
+        return new SupabaseBatchWriter(supabaseDataSource(), syncChunkSize);
+    }
+
     @Bean
     public LocalContainerEntityManagerFactoryBean supabaseEntityManagerFactory() {
         LocalContainerEntityManagerFactoryBean em = new LocalContainerEntityManagerFactoryBean();
@@ -52,7 +68,8 @@ public class SupabaseConfig {
         Map<String, Object> properties = new HashMap<>();
         properties.put("hibernate.hbm2ddl.auto", "update");
         properties.put("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
-        properties.put("hibernate.show_sql", "true");
+        properties.put("hibernate.show_sql", String.valueOf(showSql));
+        properties.put("hibernate.generate_statistics", String.valueOf(generateStatistics));
         em.setJpaPropertyMap(properties);
 
         return em;
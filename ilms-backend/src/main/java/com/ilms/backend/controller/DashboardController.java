@@ -0,0 +1,34 @@
+package com.ilms.backend.controller;
+
+import com.ilms.backend.dto.StageCell;
+import com.ilms.backend.dto.StageCount;
+import com.ilms.backend.service.InventoryStageCounters;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+    private final InventoryStageCounters stageCounters;
+
+    public DashboardController(InventoryStageCounters stageCounters) {
+        this.stageCounters = stageCounters;
+    }
+
+    @GetMapping("/stages")
+    public List<StageCount> getStages() {
+        return stageCounters.getStages();
+    }
+
+    @GetMapping("/stages/breakdown")
+    public List<StageCell> getStageBreakdown() {
+        return stageCounters.getBreakdown();
+    }
+
+    @GetMapping("/stages/stats")
+    public Map<String, Object> getStageCounterStats() {
+        return stageCounters.getStats();
+    }
+}
@@ -0,0 +1,31 @@
+package com.ilms.backend.controller;
+
+import com.ilms.backend.config.QueryBudget;
+import com.ilms.backend.dto.GenealogyNode;
+import com.ilms.backend.service.ContainerGenealogyService;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/genealogy")
+public class GenealogyController {
+    private final ContainerGenealogyService service;
+
+    public GenealogyController(ContainerGenealogyService service) {
+        this.service = service;
+    }
+
+    @GetMapping("/{serialNumber}/contents")
+    @QueryBudget(2)
+    public List<GenealogyNode> getContents(@PathVariable String serialNumber,
+            @RequestParam(required = false) Integer maxDepth) {
+        return service.getContents(serialNumber, maxDepth);
+    }
+
+    @GetMapping("/{serialNumber}/ancestors")
+    @QueryBudget(2)
+    public List<GenealogyNode> getAncestors(@PathVariable String serialNumber) {
+        return service.getAncestors(serialNumber);
+    }
+}
@@ -1,8 +1,17 @@
 package com.ilms.backend.controller;
 
+import com.ilms.backend.config.PagingConfig;
+import com.ilms.backend.config.QueryBudget;
+import com.ilms.backend.dto.AggregationRequest;
+import com.ilms.backend.dto.AggregationSummary;
+import com.ilms.backend.dto.BatchRegistrationRequest;
+import com.ilms.backend.dto.BatchRegistrationSummary;
+import com.ilms.backend.dto.InventoryRow;
+import com.ilms.backend.dto.PageResponse;
 import com.ilms.backend.entity.Box;
-import com.ilms.backend.entity.Inventory;
+import com.ilms.backend.service.AggregationService;
 import com.ilms.backend.service.InventoryService;
+import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -11,28 +20,43 @@ import java.util.Map;
 
 @RestController
 @RequestMapping("/api/inventory")
-@CrossOrigin(origins = "*")
 public class InventoryController {
     private final InventoryService service;
+    private final AggregationService aggregationService;
+    private final PagingConfig paging;
 
-    public InventoryController(InventoryService service) {
+    public InventoryController(InventoryService service, AggregationService aggregationService, PagingConfig paging) {
         this.service = service;
+        this.aggregationService = aggregationService;
+        this.paging = paging;
     }
 
+    // Code lookups for the material and location filters, then the projected page
     @GetMapping
-    public List<Inventory> list() {
-        return service.list();
+    @QueryBudget(3)
+    public PageResponse<InventoryRow> list(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String batchNumber,
+            @RequestParam(required = false) String materialCode,
+            @RequestParam(required = false) String locationCode) {
+        return service.page(PageResponse.decodeCursor(cursor, Long::valueOf), status, batchNumber,
+                materialCode, locationCode, paging.resolveLimit(limit));
     }
 
     @PostMapping("/register-batch")
-    public List<Inventory> registerBatch(@RequestBody Map<String, Object> payload) {
-        String materialCode = (String) payload.get("materialCode");
-        String batchNumber = (String) payload.get("batchNumber");
-        int quantity = (Integer) payload.get("quantity");
-        return service.registerBatch(materialCode, batchNumber, quantity);
+    public BatchRegistrationSummary registerBatch(@Valid @RequestBody BatchRegistrationRequest request) {
+        return service.registerBatchBulk(request.getMaterialCode(), request.getBatchNumber(), request.getQuantity());
     }
 
+    @GetMapping("/serial-allocator/stats")
+    public Map<String, Object> getSerialAllocatorStats() {
+        return service.getSerialAllocatorStats();
+    }
+
+    // Box insert, item load and one batched update, whatever the item count
     @PostMapping("/pack-box")
+    @QueryBudget(8)
     public Box packBox(@RequestBody Map<String, Object> payload) {
         List<Long> inventoryIds = ((List<?>) payload.get("inventoryIds")).stream()
                 .map(id -> ((Number) id).longValue())
@@ -40,4 +64,9 @@ public class InventoryController {
         String boxSerial = (String) payload.get("boxSerial");
         return service.packItemsIntoBox(inventoryIds, boxSerial);
     }
+
+    @PostMapping("/aggregate")
+    public AggregationSummary aggregate(@RequestBody AggregationRequest request) {
+        return aggregationService.aggregate(request);
+    }
 }
@@ -9,7 +9,6 @@ import java.util.List;
 
 @RestController
 @RequestMapping("/api/label-templates")
-@CrossOrigin(origins = "*")
 public class LabelTemplateController {
     private final LabelTemplateRepository repo;
 
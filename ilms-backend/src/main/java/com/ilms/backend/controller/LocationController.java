@@ -1,25 +1,45 @@
 package com.ilms.backend.controller;
 
+import com.ilms.backend.config.HttpCachingConfig;
+import com.ilms.backend.config.PagingConfig;
+import com.ilms.backend.config.QueryBudget;
+import com.ilms.backend.dto.LocationRow;
+import com.ilms.backend.dto.PageResponse;
 import com.ilms.backend.entity.Location;
 import com.ilms.backend.service.LocationService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/locations")
-@CrossOrigin(origins = "*")
 public class LocationController {
     private final LocationService service;
+    private final PagingConfig paging;
+    private final HttpCachingConfig httpCaching;
 
-    public LocationController(LocationService service) {
+    public LocationController(LocationService service, PagingConfig paging, HttpCachingConfig httpCaching) {
         this.service = service;
+        this.paging = paging;
+        this.httpCaching = httpCaching;
     }
 
     @GetMapping
-    public List<Location> list() {
-        return service.list();
+    @QueryBudget(2)
+    public PageResponse<LocationRow> list(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String parentCode) {
+        return service.page(PageResponse.decodeCursor(cursor, code -> code), status, type, parentCode,
+                paging.resolveLimit(limit));
     }
 
     @GetMapping("/roots")
@@ -27,16 +47,40 @@ public class LocationController {
         return service.getRoots();
     }
 
+    @GetMapping("/tree/stats")
+    public Map<String, Object> getTreeCacheStats() {
+        return service.getTreeCacheStats();
+    }
+
     @GetMapping("/{code}/children")
     public List<Location> getChildren(@PathVariable String code) {
         return service.getChildren(code);
     }
 
+    @GetMapping("/{code}/subtree")
+    @QueryBudget(3)
+    public List<Location> getSubtree(@PathVariable String code,
+            @RequestParam(required = false) Integer maxDepth) {
+        return service.getSubtree(code, maxDepth);
+    }
+
+    @GetMapping("/{code}/ancestors")
+    @QueryBudget(3)
+    public List<Location> getAncestorPath(@PathVariable String code) {
+        return service.getAncestorPath(code);
+    }
+
     @GetMapping("/{code}")
-    public ResponseEntity<Location> get(@PathVariable String code) {
-        return service.get(code)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<Location> get(@PathVariable String code, WebRequest request) {
+        Optional<Location> location = service.get(code);
+        if (location.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        CacheControl cacheControl = httpCaching.forLocations();
+        if (HttpCachingConfig.notModified(request, lastModified(location.get()))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().cacheControl(cacheControl).body(location.get());
     }
 
     @PostMapping
@@ -58,4 +102,18 @@ public class LocationController {
         service.delete(code);
         return ResponseEntity.noContent().build();
     }
+
+    // The response nests the whole parent chain, so any change along it is a new version
+    private static LocalDateTime lastModified(Location location) {
+        LocalDateTime latest = null;
+        for (Location l = location; l != null; l = l.getParent()) {
+            if (l.getUpdatedAt() == null) {
+                return null;
+            }
+            if (latest == null || l.getUpdatedAt().isAfter(latest)) {
+                latest = l.getUpdatedAt();
+            }
+        }
+        return latest;
+    }
 }
@@ -1,13 +1,16 @@
 package com.ilms.backend.controller;
 
 import com.ilms.backend.entity.MasterDefinition;
+import com.ilms.backend.service.MasterDefinitionDictionary;
 import com.ilms.backend.service.MasterDefinitionService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/master-definitions")
-@CrossOrigin(origins = "*")
 public class MasterDefinitionController {
     private final MasterDefinitionService service;
 
@@ -15,14 +18,24 @@ public class MasterDefinitionController {
         this.service = service;
     }
 
+    // Both reads carry the dictionary version as a strong ETag. A matching If-None-Match is
+    // answered 304 before the body is written, and no-cache makes clients revalidate every time
+
     @GetMapping
-    public List<MasterDefinition> list() {
-        return service.listAll();
+    public ResponseEntity<List<MasterDefinition>> list() {
+        MasterDefinitionDictionary.Snapshot dictionary = service.getDictionary();
+        return versioned(dictionary, dictionary.all());
     }
 
     @GetMapping("/type/{type}")
-    public List<MasterDefinition> listByType(@PathVariable String type) {
-        return service.listByType(type);
+    public ResponseEntity<List<MasterDefinition>> listByType(@PathVariable String type) {
+        MasterDefinitionDictionary.Snapshot dictionary = service.getDictionary();
+        return versioned(dictionary, dictionary.active(type));
+    }
+
+    @GetMapping("/stats")
+    public Map<String, Object> getDictionaryStats() {
+        return service.getDictionaryStats();
     }
 
     @PostMapping
@@ -34,4 +47,12 @@ public class MasterDefinitionController {
     public void delete(@PathVariable Long id) {
         service.delete(id);
     }
+
+    private static ResponseEntity<List<MasterDefinition>> versioned(MasterDefinitionDictionary.Snapshot dictionary,
+            List<MasterDefinition> body) {
+        return ResponseEntity.ok()
+                .eTag(dictionary.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(body);
+    }
 }
@@ -1,30 +1,58 @@
 package com.ilms.backend.controller;
 
+import com.ilms.backend.config.HttpCachingConfig;
+import com.ilms.backend.config.PagingConfig;
+import com.ilms.backend.config.QueryBudget;
+import com.ilms.backend.dto.PageResponse;
 import com.ilms.backend.entity.Material;
 import com.ilms.backend.service.MaterialService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/materials")
-@CrossOrigin(origins = "*")
 public class MaterialController {
     private final MaterialService service;
+    private final PagingConfig paging;
+    private final HttpCachingConfig httpCaching;
 
-    public MaterialController(MaterialService service) {
+    public MaterialController(MaterialService service, PagingConfig paging, HttpCachingConfig httpCaching) {
         this.service = service;
+        this.paging = paging;
+        this.httpCaching = httpCaching;
     }
 
     @GetMapping
-    public List<Material> list() {
-        return service.list();
+    @QueryBudget(3)
+    public PageResponse<Material> list(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String category) {
+        return service.page(PageResponse.decodeCursor(cursor, code -> code), status, type, category,
+                paging.resolveLimit(limit));
     }
 
     @GetMapping("/{code}")
-    public ResponseEntity<Material> get(@PathVariable String code) {
+    @QueryBudget(2)
+    public ResponseEntity<Material> get(@PathVariable String code, WebRequest request) {
+        // Probe updatedAt first, so a client with a current copy costs neither the row nor its serialization
+        Optional<LocalDateTime> lastModified = service.getLastModified(code);
+        if (lastModified.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        CacheControl cacheControl = httpCaching.forMaterials();
+        if (HttpCachingConfig.notModified(request, lastModified.get())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
         return service.get(code)
-                .map(ResponseEntity::ok)
+                .map(material -> ResponseEntity.ok().cacheControl(cacheControl).body(material))
                 .orElse(ResponseEntity.notFound().build());
     }
 
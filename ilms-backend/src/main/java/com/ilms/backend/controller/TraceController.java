@@ -1,23 +1,52 @@
 package com.ilms.backend.controller;
 
-import com.ilms.backend.entity.TraceEvent;
+import com.ilms.backend.config.QueryBudget;
+import com.ilms.backend.dto.TraceEventRequest;
+import com.ilms.backend.dto.TraceEventRow;
+import com.ilms.backend.dto.TraceIngestAck;
+import com.ilms.backend.service.TraceIngestService;
 import com.ilms.backend.service.TraceService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/trace")
-@CrossOrigin(origins = "*")
 public class TraceController {
     private final TraceService service;
+    private final TraceIngestService ingestService;
 
-    public TraceController(TraceService service) {
+    public TraceController(TraceService service, TraceIngestService ingestService) {
         this.service = service;
+        this.ingestService = ingestService;
     }
 
+    // 207 when some events failed to commit; the ack lists them and the rest are stored
+    @PostMapping("/events")
+    public ResponseEntity<TraceIngestAck> ingest(@RequestBody List<TraceEventRequest> events) {
+        TraceIngestAck ack = ingestService.ingest(events);
+        HttpStatus status = !ack.getFailures().isEmpty() ? HttpStatus.MULTI_STATUS
+                : ack.isCommitted() ? HttpStatus.CREATED : HttpStatus.ACCEPTED;
+        return ResponseEntity.status(status).body(ack);
+    }
+
+    @GetMapping("/serial-filter/stats")
+    public Map<String, Object> getSerialFilterStats() {
+        return service.getSerialFilterStats();
+    }
+
+    @GetMapping("/ingest/stats")
+    public Map<String, Object> getIngestStats() {
+        return ingestService.getStats();
+    }
+
+    // Registry probe and the projected events; unknown serials stop at the Bloom filter
     @GetMapping("/{serialNumber}")
-    public List<TraceEvent> getHistory(@PathVariable String serialNumber) {
+    @QueryBudget(2)
+    public List<TraceEventRow> getHistory(@PathVariable String serialNumber) {
         return service.getHistory(serialNumber);
     }
 }
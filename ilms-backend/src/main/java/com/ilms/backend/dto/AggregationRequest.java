@@ -0,0 +1,28 @@
+package com.ilms.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Many parent -> children packing assignments applied together. Boxes are created first, so
+ * pallets may list boxes from the same request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AggregationRequest {
+    private List<Assignment> boxes = new ArrayList<>(); // new box serial -> item serials
+    private List<Assignment> pallets = new ArrayList<>(); // new pallet serial -> box serials
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Assignment {
+        private String serialNumber;
+        private List<String> children = new ArrayList<>();
+    }
+}
@@ -0,0 +1,16 @@
+package com.ilms.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AggregationSummary {
+    private int boxesCreated;
+    private int palletsCreated;
+    private int itemsPacked;
+    private int boxesPalletized;
+    private long elapsedMillis;
+}
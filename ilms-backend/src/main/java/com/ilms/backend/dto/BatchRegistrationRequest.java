@@ -0,0 +1,20 @@
+package com.ilms.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRegistrationRequest {
+    @NotBlank
+    private String materialCode;
+    private String batchNumber;
+    @NotNull
+    @Positive
+    private Integer quantity;
+}
@@ -0,0 +1,18 @@
+package com.ilms.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRegistrationSummary {
+    private String materialCode;
+    private String batchNumber;
+    private int count;
+    private Long firstId;
+    private Long lastId;
+    private String firstSerial;
+    private String lastSerial;
+}
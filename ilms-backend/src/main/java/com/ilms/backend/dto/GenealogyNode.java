@@ -0,0 +1,20 @@
+package com.ilms.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GenealogyNode {
+    private int depth; // distance from the requested serial
+    private String kind; // ITEM, BOX, PALLET, SHIPPING_CONTAINER
+    private Long id;
+    private Long parentId; // id of the enclosing container, null at the top
+    private String serialNumber;
+    private String status;
+    private String materialCode; // items only
+    private String materialName; // items only
+    private String batchNumber; // items and boxes
+}
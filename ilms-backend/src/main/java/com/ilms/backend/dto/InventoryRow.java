@@ -0,0 +1,32 @@
+package com.ilms.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat read model of an inventory unit for list responses: the unit's own columns plus the
+ * codes and names of its material, location and box, selected in one join instead of
+ * serialising the full entity graph.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryRow {
+    private Long id;
+    private String serialNumber;
+    private String batchNumber;
+    private String status;
+    private String materialId;
+    private String materialCode;
+    private String materialName;
+    private String locationId;
+    private String locationCode;
+    private String locationName;
+    private Long boxId;
+    private String boxSerialNumber;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
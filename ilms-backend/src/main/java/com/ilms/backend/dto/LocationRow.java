@@ -0,0 +1,21 @@
+package com.ilms.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Flat read model of a location for list responses: the parent is referenced by id
+ * rather than serialising the parent chain and children of the entity.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationRow {
+    private String id;
+    private String code;
+    private String name;
+    private String type;
+    private String status;
+    private String parentId;
+}
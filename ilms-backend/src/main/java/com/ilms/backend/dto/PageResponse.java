@@ -0,0 +1,56 @@
+package com.ilms.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated list. {@code nextCursor} is an opaque token for the
+ * last returned key and is {@code null} on the final page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageResponse<T> {
+    private List<T> items;
+    private int limit;
+    private String nextCursor;
+
+    /**
+     * Builds a page from a query that fetched up to {@code limit + 1} rows; the extra row
+     * only signals that another page exists and is not returned.
+     */
+    public static <T> PageResponse<T> of(List<T> fetched, int limit, Function<T, ?> keyOf) {
+        if (fetched.size() <= limit) {
+            return new PageResponse<>(fetched, limit, null);
+        }
+        List<T> items = fetched.subList(0, limit);
+        String cursor = encodeCursor(String.valueOf(keyOf.apply(items.get(limit - 1))));
+        return new PageResponse<>(items, limit, cursor);
+    }
+
+    public static String encodeCursor(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor back to its key, or returns {@code null} for the first page.
+     */
+    public static <K> K decodeCursor(String cursor, Function<String, K> parseKey) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return parseKey.apply(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.ilms.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StageCell {
+    private String stage; // inventory status
+    private String materialId;
+    private String locationId; // null when not yet put away
+    private long count;
+}
@@ -0,0 +1,14 @@
+package com.ilms.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StageCount {
+    private String stage; // inventory status
+    private long count;
+    private double percentage; // of all inventory, one decimal
+}
@@ -0,0 +1,27 @@
+package com.ilms.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One trace event as posted by a scanner or integration. Inventory units and containers
+ * are referenced by id; {@code producer} names the sending device or system and is used
+ * to attribute failed events.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TraceEventRequest {
+    private String eventType;
+    private LocalDateTime timestamp;
+    private String location;
+    private String user;
+    private String notes;
+    private String status;
+    private Long inventoryId;
+    private Long containerId;
+    private String producer;
+}
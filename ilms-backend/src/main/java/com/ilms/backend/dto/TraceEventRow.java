@@ -0,0 +1,28 @@
+package com.ilms.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat read model of a trace event: the event columns plus the id and serial of the item or
+ * container it refers to.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TraceEventRow {
+    private Long id;
+    private String eventType;
+    private LocalDateTime timestamp;
+    private String location;
+    private String user;
+    private String notes;
+    private String status;
+    private Long inventoryId;
+    private String inventorySerialNumber;
+    private Long containerId;
+    private String containerSerialNumber;
+}
@@ -0,0 +1,32 @@
+package com.ilms.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TraceIngestAck {
+    private int accepted;
+    private String durability; // COMMIT or ENQUEUE
+    private boolean committed;
+    private int queueDepth;
+    private List<Failure> failures = new ArrayList<>(); // events that could not be committed
+
+    public TraceIngestAck(int accepted, String durability, boolean committed, int queueDepth) {
+        this(accepted, durability, committed, queueDepth, new ArrayList<>());
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Failure {
+        private int index; // position in the posted list
+        private String producer;
+        private String reason;
+    }
+}
@@ -1,5 +1,6 @@
 package com.ilms.backend.entity;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
 import lombok.Getter;
@@ -10,6 +11,9 @@ import lombok.Setter;
 @Getter
 @Setter
 public class Box extends ContainerUnit {
+    @Column(name = "batch_number")
     private String batchNumber;
+
+    @Column(name = "item_count")
     private Integer itemCount;
 }
@@ -1,10 +1,14 @@
 package com.ilms.backend.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Getter;
 import lombok.Setter;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "master-definition")
 @Table(name = "master_definitions", uniqueConstraints = {
         @UniqueConstraint(columnNames = { "def_type", "def_value" })
 })
@@ -1,14 +1,19 @@
 package com.ilms.backend.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "packaging-hierarchy")
 @Table(name = "packaging_hierarchy")
 @Getter
 @Setter
@@ -26,5 +31,19 @@ public class PackagingHierarchy {
 
     @OneToMany(mappedBy = "hierarchy", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("levelIndex ASC")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "packaging-hierarchy-levels")
     private List<PackagingLevel> levels = new ArrayList<>();
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
 }
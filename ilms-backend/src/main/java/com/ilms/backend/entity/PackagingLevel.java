@@ -1,10 +1,16 @@
 package com.ilms.backend.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "packaging-level")
 @Table(name = "packaging_level")
 @Getter
 @Setter
@@ -35,4 +41,17 @@ public class PackagingLevel {
     private Integer defaultLabelCopies;
     private Boolean isReturnable;
     private Boolean isSerialized;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
 }
@@ -1,5 +1,6 @@
 package com.ilms.backend.entity;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
 import lombok.Getter;
@@ -10,5 +11,6 @@ import lombok.Setter;
 @Getter
 @Setter
 public class Pallet extends ContainerUnit {
+    @Column(name = "box_count")
     private Integer boxCount;
 }
@@ -0,0 +1,30 @@
+package com.ilms.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * High-water mark of the last successful Supabase sync for one source table.
+ */
+@Entity
+@Table(name = "sync_watermark")
+@Getter
+@Setter
+public class SyncWatermark {
+    @Id
+    @Column(name = "table_name")
+    private String tableName;
+
+    // Largest updated_at pushed so far; rows at or before it are not re-read
+    @Column(name = "last_updated_at")
+    private LocalDateTime lastUpdatedAt;
+
+    @Column(name = "last_synced_at")
+    private LocalDateTime lastSyncedAt;
+
+    @Column(name = "rows_synced")
+    private Long rowsSynced;
+}
@@ -0,0 +1,168 @@
+package com.ilms.backend.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Set-based packing writes: containers are inserted with JDBC batches into a reserved id
+ * block, and children are attached with one {@code UPDATE ... WHERE serial_number IN (...)}
+ * per parent. Every method must run inside the caller's write transaction.
+ */
+@Repository
+public class AggregationRepository {
+
+    // Bound parameters per IN list, well below SQLite's variable limit
+    private static final int IN_CHUNK = 500;
+
+    /**
+     * An item that can be packed, with the fields its stage counter is keyed on.
+     */
+    public record UnpackedItem(String serialNumber, String status, String materialId, String locationId) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AggregationRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Serials out of {@code serials} that already belong to an item or container.
+     */
+    public List<String> findRegistered(List<String> serials) {
+        return queryChunked("SELECT serial_number FROM serial_registry WHERE serial_number IN (%s)", serials);
+    }
+
+    /**
+     * Items out of {@code serials} that exist and are not packed yet.
+     */
+    public List<UnpackedItem> findUnpackedItems(List<String> serials) {
+        return queryChunked("SELECT serial_number, status, material_id, location_id FROM inventory"
+                + " WHERE serial_number IN (%s) AND box_id IS NULL", serials,
+                (rs, i) -> new UnpackedItem(rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4)));
+    }
+
+    /**
+     * Box serials out of {@code serials} that exist and are not on a pallet yet.
+     */
+    public List<String> findLooseBoxes(List<String> serials) {
+        return queryChunked("SELECT cu.serial_number FROM container_unit cu JOIN box b ON b.id = cu.id"
+                + " WHERE cu.serial_number IN (%s) AND cu.parent_container_id IS NULL", serials);
+    }
+
+    /**
+     * Reserves {@code count} container ids, like {@link InventoryBulkRepository#allocateIdBlock(int)}.
+     */
+    public long allocateContainerIds(int count) {
+        jdbcTemplate.update("UPDATE id_block_counter "
+                + "SET last_id = MAX(last_id, (SELECT COALESCE(MAX(id), 0) FROM container_unit)) + ? "
+                + "WHERE name = 'container_unit'", count);
+        Long lastId = jdbcTemplate.queryForObject(
+                "SELECT last_id FROM id_block_counter WHERE name = 'container_unit'", Long.class);
+        return lastId - count + 1;
+    }
+
+    public void insertBoxes(long firstId, List<String> serials, List<Integer> itemCounts) {
+        insertContainers(firstId, serials);
+        List<Object[]> rows = new ArrayList<>(serials.size());
+        for (int i = 0; i < serials.size(); i++) {
+            rows.add(new Object[] { firstId + i, itemCounts.get(i) });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO box (id, item_count) VALUES (?, ?)", rows);
+    }
+
+    public void insertPallets(long firstId, List<String> serials, List<Integer> boxCounts) {
+        insertContainers(firstId, serials);
+        List<Object[]> rows = new ArrayList<>(serials.size());
+        for (int i = 0; i < serials.size(); i++) {
+            rows.add(new Object[] { firstId + i, boxCounts.get(i) });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO pallet (id, box_count) VALUES (?, ?)", rows);
+    }
+
+    /**
+     * Puts the unpacked items among {@code itemSerials} into the box and returns how many were
+     * updated; items packed meanwhile are left alone and show up as a short count.
+     */
+    public int packItems(long boxId, List<String> itemSerials) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return updateChunked("UPDATE inventory SET box_id = ?, status = 'PACKED', updated_at = ?"
+                + " WHERE serial_number IN (%s) AND box_id IS NULL", itemSerials, boxId, now);
+    }
+
+    /**
+     * Puts the loose boxes among {@code boxSerials} onto the pallet and returns how many were updated.
+     */
+    public int palletizeBoxes(long palletId, List<String> boxSerials) {
+        return updateChunked("UPDATE container_unit SET parent_container_id = ?"
+                + " WHERE serial_number IN (%s) AND parent_container_id IS NULL", boxSerials, palletId);
+    }
+
+    /**
+     * Moves values out of the camelCase columns that earlier versions let Hibernate create on
+     * {@code box} and {@code pallet} into the snake_case ones, then drops the old columns.
+     */
+    public void migrateLegacyCountColumns() {
+        migrateColumn("box", "batchNumber", "batch_number");
+        migrateColumn("box", "itemCount", "item_count");
+        migrateColumn("pallet", "boxCount", "box_count");
+    }
+
+    private void migrateColumn(String table, String legacy, String column) {
+        List<String> columns = jdbcTemplate.queryForList("SELECT name FROM pragma_table_info(?)", String.class, table);
+        if (!columns.contains(legacy)) {
+            return;
+        }
+        if (!columns.contains(column)) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " RENAME COLUMN " + legacy + " TO " + column);
+            return;
+        }
+        jdbcTemplate.update("UPDATE " + table + " SET " + column + " = " + legacy + " WHERE " + column + " IS NULL");
+        jdbcTemplate.execute("ALTER TABLE " + table + " DROP COLUMN " + legacy);
+    }
+
+    private void insertContainers(long firstId, List<String> serials) {
+        List<Object[]> rows = new ArrayList<>(serials.size());
+        for (int i = 0; i < serials.size(); i++) {
+            rows.add(new Object[] { firstId + i, serials.get(i) });
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO container_unit (id, serial_number, status) VALUES (?, ?, 'FULL')", rows);
+    }
+
+    private List<String> queryChunked(String sql, List<String> serials) {
+        return queryChunked(sql, serials, (rs, i) -> rs.getString(1));
+    }
+
+    private <T> List<T> queryChunked(String sql, List<String> serials, RowMapper<T> mapper) {
+        List<T> found = new ArrayList<>();
+        for (int from = 0; from < serials.size(); from += IN_CHUNK) {
+            List<String> chunk = serials.subList(from, Math.min(serials.size(), from + IN_CHUNK));
+            found.addAll(jdbcTemplate.query(sql.formatted(placeholders(chunk.size())), mapper, chunk.toArray()));
+        }
+        return found;
+    }
+
+    private int updateChunked(String sql, List<String> serials, Object... leadingArgs) {
+        int updated = 0;
+        for (int from = 0; from < serials.size(); from += IN_CHUNK) {
+            List<String> chunk = serials.subList(from, Math.min(serials.size(), from + IN_CHUNK));
+            List<Object> args = new ArrayList<>(leadingArgs.length + chunk.size());
+            Collections.addAll(args, leadingArgs);
+            args.addAll(chunk);
+            updated += jdbcTemplate.update(sql.formatted(placeholders(chunk.size())), args.toArray());
+        }
+        return updated;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
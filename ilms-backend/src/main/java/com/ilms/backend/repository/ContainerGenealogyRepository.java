@@ -0,0 +1,93 @@
+package com.ilms.backend.repository;
+
+import com.ilms.backend.dto.GenealogyNode;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Box / pallet / shipping container nesting resolved with one recursive CTE per request and
+ * returned as flat rows, instead of walking {@code parentContainer} through the joined
+ * inheritance tables entity by entity.
+ */
+@Repository
+public class ContainerGenealogyRepository {
+
+    // Guards against a corrupted parent_container_id cycle
+    private static final int MAX_DEPTH = 64;
+
+    private static final String CONTAINER_COLUMNS = "CASE WHEN b.id IS NOT NULL THEN 'BOX'"
+            + " WHEN p.id IS NOT NULL THEN 'PALLET'"
+            + " WHEN sc.id IS NOT NULL THEN 'SHIPPING_CONTAINER' ELSE 'CONTAINER' END AS kind,"
+            + " cu.id, cu.parent_container_id AS parent_id, cu.serial_number, cu.status,"
+            + " NULL AS material_code, NULL AS material_name, b.batch_number AS batch_number";
+
+    private static final String CONTAINER_JOINS = " JOIN container_unit cu ON cu.id = t.id"
+            + " LEFT JOIN box b ON b.id = cu.id"
+            + " LEFT JOIN pallet p ON p.id = cu.id"
+            + " LEFT JOIN shipping_container sc ON sc.id = cu.id";
+
+    private static final String ITEM_COLUMNS = "'ITEM' AS kind, i.id, i.box_id AS parent_id, i.serial_number, i.status,"
+            + " m.code AS material_code, m.name AS material_name, i.batch_number";
+
+    private static final String CONTENTS_SQL = "WITH RECURSIVE tree(id, depth) AS ("
+            + " SELECT id, 0 FROM container_unit WHERE serial_number = ?"
+            + " UNION ALL"
+            + " SELECT c.id, t.depth + 1 FROM tree t JOIN container_unit c ON c.parent_container_id = t.id"
+            + " WHERE t.depth < ?"
+            + ")"
+            + " SELECT t.depth, " + CONTAINER_COLUMNS + " FROM tree t" + CONTAINER_JOINS
+            + " UNION ALL"
+            + " SELECT t.depth + 1, " + ITEM_COLUMNS
+            // CROSS JOIN keeps the (small) tree as the outer loop, probing idx_inventory_box per container
+            + " FROM tree t CROSS JOIN inventory i ON i.box_id = t.id LEFT JOIN materials m ON m.id = i.material_id"
+            + " WHERE ? IS NULL OR t.depth + 1 <= ?"
+            + " ORDER BY 1, 2, 3";
+
+    private static final String ANCESTORS_SQL = "WITH RECURSIVE chain(id, depth) AS ("
+            + " SELECT box_id, 1 FROM inventory WHERE serial_number = ? AND box_id IS NOT NULL"
+            + " UNION ALL"
+            + " SELECT id, 0 FROM container_unit WHERE serial_number = ?"
+            + " UNION ALL"
+            + " SELECT cu.parent_container_id, t.depth + 1 FROM chain t JOIN container_unit cu ON cu.id = t.id"
+            + " WHERE cu.parent_container_id IS NOT NULL AND t.depth < " + MAX_DEPTH
+            + ")"
+            + " SELECT 0 AS depth, " + ITEM_COLUMNS
+            + " FROM inventory i LEFT JOIN materials m ON m.id = i.material_id WHERE i.serial_number = ?"
+            + " UNION ALL"
+            + " SELECT t.depth, " + CONTAINER_COLUMNS + " FROM chain t" + CONTAINER_JOINS
+            + " ORDER BY 1";
+
+    private static final RowMapper<GenealogyNode> NODE_MAPPER = (rs, i) -> {
+        Object parentId = rs.getObject(4);
+        return new GenealogyNode(rs.getInt(1), rs.getString(2), rs.getLong(3),
+                parentId != null ? ((Number) parentId).longValue() : null,
+                rs.getString(5), rs.getString(6), rs.getString(7), rs.getString(8), rs.getString(9));
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ContainerGenealogyRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * The container itself at depth 0 followed by every nested container and packed item,
+     * ordered by depth. {@code maxDepth} (nullable) cuts the tree below that depth.
+     */
+    public List<GenealogyNode> findContents(String containerSerial, Integer maxDepth) {
+        int containerDepth = maxDepth != null ? Math.min(maxDepth, MAX_DEPTH) : MAX_DEPTH;
+        return jdbcTemplate.query(CONTENTS_SQL, NODE_MAPPER,
+                containerSerial, containerDepth, maxDepth, maxDepth);
+    }
+
+    /**
+     * The item or container with the given serial at depth 0, then each enclosing container
+     * up to the outermost one.
+     */
+    public List<GenealogyNode> findAncestors(String serialNumber) {
+        return jdbcTemplate.query(ANCESTORS_SQL, NODE_MAPPER, serialNumber, serialNumber, serialNumber);
+    }
+}
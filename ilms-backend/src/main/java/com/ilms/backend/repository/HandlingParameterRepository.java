@@ -2,5 +2,16 @@ package com.ilms.backend.repository;
 
 import com.ilms.backend.entity.HandlingParameter;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface HandlingParameterRepository extends JpaRepository<HandlingParameter, Long> { }
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface HandlingParameterRepository extends JpaRepository<HandlingParameter, Long> {
+    @Query("select p from HandlingParameter p left join fetch p.material order by p.updatedAt")
+    List<HandlingParameter> findAllByOrderByUpdatedAt();
+
+    @Query("select p from HandlingParameter p left join fetch p.material where p.updatedAt > :since order by p.updatedAt")
+    List<HandlingParameter> findByUpdatedAtGreaterThanOrderByUpdatedAt(@Param("since") LocalDateTime since);
+}
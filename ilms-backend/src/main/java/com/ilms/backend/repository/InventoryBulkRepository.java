@@ -0,0 +1,22 @@
+package com.ilms.backend.repository;
+
+import java.util.function.IntFunction;
+
+/**
+ * Set-based inventory writes that bypass per-entity persistence.
+ */
+public interface InventoryBulkRepository {
+
+    /**
+     * Reserves a contiguous block of {@code count} inventory ids and returns the
+     * first one. Must run inside the caller's write transaction.
+     */
+    long allocateIdBlock(int count);
+
+    /**
+     * Inserts {@code count} REGISTERED units with ids {@code firstId .. firstId + count - 1}
+     * using JDBC batches. The unit at offset {@code i} gets serial {@code serialAt.apply(i)}.
+     */
+    void insertRegisteredBlock(long firstId, int count, String materialId, String batchNumber,
+            IntFunction<String> serialAt);
+}
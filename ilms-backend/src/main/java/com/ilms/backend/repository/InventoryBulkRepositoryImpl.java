@@ -0,0 +1,65 @@
+package com.ilms.backend.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.function.IntFunction;
+
+public class InventoryBulkRepositoryImpl implements InventoryBulkRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO inventory "
+            + "(id, material_id, serial_number, batch_number, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${ilms.inventory.bulk-batch-size:1000}")
+    private int batchSize;
+
+    public InventoryBulkRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public long allocateIdBlock(int count) {
+        // The UPDATE takes SQLite's write lock before reading MAX(id), so the block stays ours
+        // until commit and later IDENTITY inserts continue above it.
+        jdbcTemplate.update("UPDATE id_block_counter "
+                + "SET last_id = MAX(last_id, (SELECT COALESCE(MAX(id), 0) FROM inventory)) + ? "
+                + "WHERE name = 'inventory'", count);
+        Long lastId = jdbcTemplate.queryForObject(
+                "SELECT last_id FROM id_block_counter WHERE name = 'inventory'", Long.class);
+        return lastId - count + 1;
+    }
+
+    @Override
+    public void insertRegisteredBlock(long firstId, int count, String materialId, String batchNumber,
+            IntFunction<String> serialAt) {
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        for (int offset = 0; offset < count; offset += batchSize) {
+            int chunkOffset = offset;
+            int chunkSize = Math.min(batchSize, count - offset);
+            jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setLong(1, firstId + chunkOffset + i);
+                    ps.setString(2, materialId);
+                    ps.setString(3, serialAt.apply(chunkOffset + i));
+                    ps.setString(4, batchNumber);
+                    ps.setString(5, "REGISTERED");
+                    ps.setTimestamp(6, createdAt);
+                    ps.setTimestamp(7, createdAt);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return chunkSize;
+                }
+            });
+        }
+    }
+}
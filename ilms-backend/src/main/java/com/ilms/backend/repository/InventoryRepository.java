@@ -2,11 +2,25 @@ package com.ilms.backend.repository;
 
 import com.ilms.backend.entity.Inventory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
-public interface InventoryRepository extends JpaRepository<Inventory, Long> {
+public interface InventoryRepository extends JpaRepository<Inventory, Long>, JpaSpecificationExecutor<Inventory>,
+        InventoryBulkRepository, InventoryRowRepository {
     Optional<Inventory> findBySerialNumber(String serialNumber);
 
     List<Inventory> findByBatchNumber(String batchNumber);
+
+    // Two queries rather than one with "since is null or ...": SQLite only range-seeks
+    // the updated_at index when the OR is gone
+    @Query("select i from Inventory i left join fetch i.material left join fetch i.location order by i.updatedAt")
+    List<Inventory> findAllByOrderByUpdatedAt();
+
+    @Query("select i from Inventory i left join fetch i.material left join fetch i.location where i.updatedAt > :since order by i.updatedAt")
+    List<Inventory> findByUpdatedAtGreaterThanOrderByUpdatedAt(@Param("since") LocalDateTime since);
 }
@@ -0,0 +1,19 @@
+package com.ilms.backend.repository;
+
+import com.ilms.backend.dto.InventoryRow;
+
+import java.util.List;
+
+/**
+ * Projected inventory reads that select only the columns of {@link InventoryRow}.
+ */
+public interface InventoryRowRepository {
+
+    /**
+     * Up to {@code limit} rows with id above {@code afterId} (all when null), in id order. Only
+     * the filters that are set become predicates, and material and location are filtered on
+     * their foreign keys, so SQLite can walk the matching index in id order.
+     */
+    List<InventoryRow> findRows(Long afterId, String status, String batchNumber, String materialId,
+            String locationId, int limit);
+}
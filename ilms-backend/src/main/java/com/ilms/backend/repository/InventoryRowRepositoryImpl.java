@@ -0,0 +1,62 @@
+package com.ilms.backend.repository;
+
+import com.ilms.backend.dto.InventoryRow;
+import com.ilms.backend.entity.Box;
+import com.ilms.backend.entity.Inventory;
+import com.ilms.backend.entity.Location;
+import com.ilms.backend.entity.Material;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class InventoryRowRepositoryImpl implements InventoryRowRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<InventoryRow> findRows(Long afterId, String status, String batchNumber, String materialId,
+            String locationId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<InventoryRow> query = cb.createQuery(InventoryRow.class);
+        Root<Inventory> root = query.from(Inventory.class);
+        Join<Inventory, Material> material = root.join("material", JoinType.LEFT);
+        Join<Inventory, Location> location = root.join("location", JoinType.LEFT);
+        Join<Inventory, Box> box = root.join("box", JoinType.LEFT);
+        // A constructor expression: Hibernate selects these columns only and builds no entities
+        query.select(cb.construct(InventoryRow.class,
+                root.get("id"), root.get("serialNumber"), root.get("batchNumber"), root.get("status"),
+                material.get("id"), material.get("code"), material.get("name"),
+                location.get("id"), location.get("code"), location.get("name"),
+                box.get("id"), box.get("serialNumber"),
+                root.get("createdAt"), root.get("updatedAt")));
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (afterId != null) {
+            predicates.add(cb.greaterThan(root.get("id"), afterId));
+        }
+        if (status != null) {
+            predicates.add(cb.equal(root.get("status"), status));
+        }
+        if (batchNumber != null) {
+            predicates.add(cb.equal(root.get("batchNumber"), batchNumber));
+        }
+        if (materialId != null) {
+            predicates.add(cb.equal(root.get("material").get("id"), materialId));
+        }
+        if (locationId != null) {
+            predicates.add(cb.equal(root.get("location").get("id"), locationId));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
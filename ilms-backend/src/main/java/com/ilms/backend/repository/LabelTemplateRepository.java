@@ -1,10 +1,17 @@
 package com.ilms.backend.repository;
 
 import com.ilms.backend.entity.LabelTemplate;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 
 public interface LabelTemplateRepository extends JpaRepository<LabelTemplate, Long> {
-    List<LabelTemplate> findByLevelName(String levelName);
+    @Override
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<LabelTemplate> findAll();
+
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<LabelTemplate> findByType(String type);
 }
@@ -0,0 +1,30 @@
+package com.ilms.backend.repository;
+
+/**
+ * Maintains {@code location_closure}, which holds one row per (ancestor, descendant) pair of
+ * the location tree, including each location paired with itself at depth 0.
+ */
+public interface LocationClosureRepository {
+
+    /**
+     * Recomputes the whole closure from {@code locations.parent_id}.
+     */
+    void rebuildClosure();
+
+    /**
+     * Attaches the subtree rooted at {@code locationId} under {@code parentId} (or makes it a
+     * root when {@code parentId} is null), replacing links to its previous ancestors.
+     * Must run inside the caller's write transaction, after the location row is flushed.
+     */
+    void moveSubtree(String locationId, String parentId);
+
+    /**
+     * Removes every closure row of the subtree rooted at {@code locationId}.
+     */
+    void deleteSubtree(String locationId);
+
+    /**
+     * Whether {@code descendantId} is {@code ancestorId} or lies anywhere below it.
+     */
+    boolean isInSubtree(String ancestorId, String descendantId);
+}
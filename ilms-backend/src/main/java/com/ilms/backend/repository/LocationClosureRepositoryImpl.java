@@ -0,0 +1,67 @@
+package com.ilms.backend.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Objects;
+
+public class LocationClosureRepositoryImpl implements LocationClosureRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LocationClosureRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void rebuildClosure() {
+        jdbcTemplate.update("DELETE FROM location_closure");
+        jdbcTemplate.update("INSERT INTO location_closure (ancestor_id, descendant_id, depth) "
+                + "WITH RECURSIVE tree(ancestor_id, descendant_id, depth) AS ("
+                + " SELECT id, id, 0 FROM locations"
+                + " UNION ALL"
+                + " SELECT t.ancestor_id, l.id, t.depth + 1 FROM tree t JOIN locations l ON l.parent_id = t.descendant_id"
+                + ") SELECT ancestor_id, descendant_id, depth FROM tree");
+    }
+
+    @Override
+    public void moveSubtree(String locationId, String parentId) {
+        List<String> currentParent = jdbcTemplate.queryForList("SELECT ancestor_id FROM location_closure "
+                + "WHERE descendant_id = ? AND depth = 1", String.class, locationId);
+        boolean linked = !jdbcTemplate.queryForList("SELECT 1 FROM location_closure "
+                + "WHERE ancestor_id = ? AND descendant_id = ?", Integer.class, locationId, locationId).isEmpty();
+        if (linked && Objects.equals(currentParent.isEmpty() ? null : currentParent.get(0), parentId)) {
+            return;
+        }
+        jdbcTemplate.update("INSERT OR IGNORE INTO location_closure (ancestor_id, descendant_id, depth) VALUES (?, ?, 0)",
+                locationId, locationId);
+        // Drop the links between the subtree and everything above it ...
+        jdbcTemplate.update("DELETE FROM location_closure "
+                + "WHERE descendant_id IN (SELECT descendant_id FROM location_closure WHERE ancestor_id = ?) "
+                + "AND ancestor_id NOT IN (SELECT descendant_id FROM location_closure WHERE ancestor_id = ?)",
+                locationId, locationId);
+        if (parentId == null) {
+            return;
+        }
+        // ... then pair every ancestor of the new parent with every node of the subtree
+        jdbcTemplate.update("INSERT INTO location_closure (ancestor_id, descendant_id, depth) "
+                + "SELECT a.ancestor_id, d.descendant_id, a.depth + d.depth + 1 "
+                + "FROM location_closure a JOIN location_closure d ON d.ancestor_id = ? "
+                + "WHERE a.descendant_id = ?",
+                locationId, parentId);
+    }
+
+    @Override
+    public void deleteSubtree(String locationId) {
+        jdbcTemplate.update("DELETE FROM location_closure "
+                + "WHERE descendant_id IN (SELECT descendant_id FROM location_closure WHERE ancestor_id = ?)",
+                locationId);
+    }
+
+    @Override
+    public boolean isInSubtree(String ancestorId, String descendantId) {
+        Integer found = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM location_closure "
+                + "WHERE ancestor_id = ? AND descendant_id = ?", Integer.class, ancestorId, descendantId);
+        return found != null && found > 0;
+    }
+}
@@ -0,0 +1,18 @@
+package com.ilms.backend.repository;
+
+import com.ilms.backend.dto.LocationRow;
+
+import java.util.List;
+
+/**
+ * Keyset-paged location reads that select only the columns of {@link LocationRow}.
+ */
+public interface LocationPageRepository {
+
+    /**
+     * Up to {@code limit} rows with code above {@code afterCode} (all when null), in code
+     * order. Only the filters that are set become predicates, so the cursor is a plain range
+     * condition and SQLite seeks into the code index instead of scanning from the first row.
+     */
+    List<LocationRow> findPage(String afterCode, String status, String type, String parentCode, int limit);
+}
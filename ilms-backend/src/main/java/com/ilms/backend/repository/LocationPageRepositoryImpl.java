@@ -0,0 +1,50 @@
+package com.ilms.backend.repository;
+
+import com.ilms.backend.dto.LocationRow;
+import com.ilms.backend.entity.Location;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class LocationPageRepositoryImpl implements LocationPageRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<LocationRow> findPage(String afterCode, String status, String type, String parentCode, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LocationRow> query = cb.createQuery(LocationRow.class);
+        Root<Location> root = query.from(Location.class);
+        Join<Location, Location> parent = root.join("parent", JoinType.LEFT);
+        // A constructor expression, so the eager parent chain is never loaded
+        query.select(cb.construct(LocationRow.class,
+                root.get("id"), root.get("code"), root.get("name"), root.get("type"), root.get("status"),
+                parent.get("id")));
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (afterCode != null) {
+            predicates.add(cb.greaterThan(root.get("code"), afterCode));
+        }
+        if (status != null) {
+            predicates.add(cb.equal(root.get("status"), status));
+        }
+        if (type != null) {
+            predicates.add(cb.equal(root.get("type"), type));
+        }
+        if (parentCode != null) {
+            predicates.add(cb.equal(parent.get("code"), parentCode));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(cb.asc(root.get("code")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
@@ -2,16 +2,40 @@ package com.ilms.backend.repository;
 
 import com.ilms.backend.entity.Location;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
-public interface LocationRepository extends JpaRepository<Location, String> {
+public interface LocationRepository extends JpaRepository<Location, String>, LocationClosureRepository,
+        LocationPageRepository {
     List<Location> findByParentIsNull();
 
     List<Location> findByParentCode(String parentCode);
 
     Optional<Location> findByCode(String code);
 
+    // Without loading the entity, whose eager parent would pull in every ancestor
+    @Query("select l.id from Location l where l.code = :code")
+    Optional<String> findIdByCode(@Param("code") String code);
+
     void deleteByCode(String code);
+
+    @Modifying
+    @Query("update Location l set l.updatedAt = :now where l.updatedAt is null")
+    int backfillUpdatedAt(@Param("now") LocalDateTime now);
+
+    @Query(value = "SELECT l.* FROM location_closure c JOIN locations l ON l.id = c.descendant_id"
+            + " WHERE c.ancestor_id = (SELECT id FROM locations WHERE code = :code)"
+            + " AND (:maxDepth IS NULL OR c.depth <= :maxDepth)"
+            + " ORDER BY c.depth, l.code", nativeQuery = true)
+    List<Location> findSubtree(@Param("code") String code, @Param("maxDepth") Integer maxDepth);
+
+    @Query(value = "SELECT l.* FROM location_closure c JOIN locations l ON l.id = c.ancestor_id"
+            + " WHERE c.descendant_id = (SELECT id FROM locations WHERE code = :code)"
+            + " ORDER BY c.depth DESC", nativeQuery = true)
+    List<Location> findAncestorPath(@Param("code") String code);
 }
@@ -1,11 +1,19 @@
 package com.ilms.backend.repository;
 
 import com.ilms.backend.entity.MasterDefinition;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import java.util.List;
 
 public interface MasterDefinitionRepository extends JpaRepository<MasterDefinition, Long> {
+    @Override
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<MasterDefinition> findAll();
+
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<MasterDefinition> findByDefType(String defType);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<MasterDefinition> findByDefTypeAndIsActiveTrue(String defType);
 }
@@ -1,11 +1,20 @@
 package com.ilms.backend.repository;
 
+import com.ilms.backend.entity.Material;
 import com.ilms.backend.entity.MaterialDocument;
-import com.ilms.backend.entity.MaterialMaster;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface MaterialDocumentRepository extends JpaRepository<MaterialDocument, Long> {
-    List<MaterialDocument> findByMaterial(MaterialMaster material);
+    List<MaterialDocument> findByMaterial(Material material);
+
+    @Query("select d from MaterialDocument d left join fetch d.material order by d.updatedAt")
+    List<MaterialDocument> findAllByOrderByUpdatedAt();
+
+    @Query("select d from MaterialDocument d left join fetch d.material where d.updatedAt > :since order by d.updatedAt")
+    List<MaterialDocument> findByUpdatedAtGreaterThanOrderByUpdatedAt(@Param("since") LocalDateTime since);
 }
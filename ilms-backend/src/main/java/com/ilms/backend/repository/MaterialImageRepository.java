@@ -1,11 +1,20 @@
 package com.ilms.backend.repository;
 
+import com.ilms.backend.entity.Material;
 import com.ilms.backend.entity.MaterialImage;
-import com.ilms.backend.entity.MaterialMaster;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface MaterialImageRepository extends JpaRepository<MaterialImage, Long> {
-    List<MaterialImage> findByMaterial(MaterialMaster material);
+    List<MaterialImage> findByMaterial(Material material);
+
+    @Query("select i from MaterialImage i left join fetch i.material order by i.updatedAt")
+    List<MaterialImage> findAllByOrderByUpdatedAt();
+
+    @Query("select i from MaterialImage i left join fetch i.material where i.updatedAt > :since order by i.updatedAt")
+    List<MaterialImage> findByUpdatedAtGreaterThanOrderByUpdatedAt(@Param("since") LocalDateTime since);
 }
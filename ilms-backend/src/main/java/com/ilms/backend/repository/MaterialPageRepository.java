@@ -0,0 +1,18 @@
+package com.ilms.backend.repository;
+
+import com.ilms.backend.entity.Material;
+
+import java.util.List;
+
+/**
+ * Keyset-paged material reads.
+ */
+public interface MaterialPageRepository {
+
+    /**
+     * Up to {@code limit} materials with code above {@code afterCode} (all when null), in code
+     * order. Only the filters that are set become predicates, so the cursor is a plain range
+     * condition and SQLite seeks into the code index instead of scanning from the first row.
+     */
+    List<Material> findPage(String afterCode, String status, String type, String category, int limit);
+}
@@ -0,0 +1,42 @@
+package com.ilms.backend.repository;
+
+import com.ilms.backend.entity.Material;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class MaterialPageRepositoryImpl implements MaterialPageRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Material> findPage(String afterCode, String status, String type, String category, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Material> query = cb.createQuery(Material.class);
+        Root<Material> root = query.from(Material.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (afterCode != null) {
+            predicates.add(cb.greaterThan(root.get("code"), afterCode));
+        }
+        if (status != null) {
+            predicates.add(cb.equal(root.get("status"), status));
+        }
+        if (type != null) {
+            predicates.add(cb.equal(root.get("type"), type));
+        }
+        if (category != null) {
+            predicates.add(cb.equal(root.get("category"), category));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(cb.asc(root.get("code")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
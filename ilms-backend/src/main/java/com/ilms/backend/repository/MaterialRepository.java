@@ -1,11 +1,31 @@
 package com.ilms.backend.repository;
 
 import com.ilms.backend.entity.Material;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
-public interface MaterialRepository extends JpaRepository<Material, String> {
+public interface MaterialRepository extends JpaRepository<Material, String>, MaterialPageRepository {
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Optional<Material> findByCode(String code);
 
+    @Query("select m.updatedAt from Material m where m.code = :code")
+    List<LocalDateTime> findUpdatedAtByCode(@Param("code") String code);
+
     void deleteByCode(String code);
+
+    @Modifying
+    @Query("update Material m set m.updatedAt = :now where m.updatedAt is null")
+    int backfillUpdatedAt(@Param("now") LocalDateTime now);
+
+    List<Material> findAllByOrderByUpdatedAt();
+
+    List<Material> findByUpdatedAtGreaterThanOrderByUpdatedAt(LocalDateTime since);
 }
@@ -3,4 +3,11 @@ package com.ilms.backend.repository;
 import com.ilms.backend.entity.PackagingHierarchy;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface PackagingHierarchyRepository extends JpaRepository<PackagingHierarchy, Long> { }
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PackagingHierarchyRepository extends JpaRepository<PackagingHierarchy, Long> {
+    List<PackagingHierarchy> findAllByOrderByUpdatedAt();
+
+    List<PackagingHierarchy> findByUpdatedAtGreaterThanOrderByUpdatedAt(LocalDateTime since);
+}
@@ -3,4 +3,11 @@ package com.ilms.backend.repository;
 import com.ilms.backend.entity.PackagingLevel;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface PackagingLevelRepository extends JpaRepository<PackagingLevel, Long> { }
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PackagingLevelRepository extends JpaRepository<PackagingLevel, Long> {
+    List<PackagingLevel> findAllByOrderByUpdatedAt();
+
+    List<PackagingLevel> findByUpdatedAtGreaterThanOrderByUpdatedAt(LocalDateTime since);
+}
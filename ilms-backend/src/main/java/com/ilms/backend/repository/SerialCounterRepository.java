@@ -0,0 +1,31 @@
+package com.ilms.backend.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Persistent per material/batch serial counters. Each call leases a whole block, so the
+ * database is touched once per block rather than once per serial.
+ */
+@Repository
+public class SerialCounterRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SerialCounterRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Advances the counter by {@code size} and returns the first value of the leased block.
+     * A single UPSERT ... RETURNING, so it is atomic even outside a transaction; inside one it
+     * holds SQLite's write lock until commit.
+     */
+    public long lease(String materialId, String batchNumber, long size) {
+        Long lastValue = jdbcTemplate.queryForObject("INSERT INTO serial_counter (material_id, batch_number, last_value)"
+                + " VALUES (?, ?, ?) ON CONFLICT (material_id, batch_number)"
+                + " DO UPDATE SET last_value = last_value + excluded.last_value RETURNING last_value",
+                Long.class, materialId, batchNumber, size);
+        return lastValue - size + 1;
+    }
+}
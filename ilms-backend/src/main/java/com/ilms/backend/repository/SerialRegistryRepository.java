@@ -0,0 +1,97 @@
+package com.ilms.backend.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * {@code serial_registry} maps every item and container serial to its kind and id in one
+ * clustered (WITHOUT ROWID) primary key, so resolving a scanned serial is a single probe.
+ *
+ * The table is kept current by triggers on {@code inventory} and {@code container_unit};
+ * they live here rather than in schema.sql because the script splitter cannot handle
+ * BEGIN ... END bodies.
+ */
+@Repository
+public class SerialRegistryRepository {
+
+    public enum Kind {
+        ITEM, CONTAINER
+    }
+
+    public record Entry(Kind kind, long id) {
+    }
+
+    private static final List<String> TRIGGERS = List.of(
+            "CREATE TRIGGER IF NOT EXISTS trg_serial_registry_inventory_insert AFTER INSERT ON inventory"
+                    + " WHEN NEW.serial_number IS NOT NULL BEGIN"
+                    + " INSERT OR IGNORE INTO serial_registry (serial_number, kind, entity_id)"
+                    + " VALUES (NEW.serial_number, 'ITEM', NEW.id); END",
+            "CREATE TRIGGER IF NOT EXISTS trg_serial_registry_inventory_update AFTER UPDATE OF serial_number ON inventory BEGIN"
+                    + " DELETE FROM serial_registry WHERE serial_number = OLD.serial_number AND kind = 'ITEM' AND entity_id = OLD.id;"
+                    + " INSERT OR IGNORE INTO serial_registry (serial_number, kind, entity_id)"
+                    + " SELECT NEW.serial_number, 'ITEM', NEW.id WHERE NEW.serial_number IS NOT NULL; END",
+            "CREATE TRIGGER IF NOT EXISTS trg_serial_registry_inventory_delete AFTER DELETE ON inventory BEGIN"
+                    + " DELETE FROM serial_registry WHERE serial_number = OLD.serial_number AND kind = 'ITEM' AND entity_id = OLD.id; END",
+            "CREATE TRIGGER IF NOT EXISTS trg_serial_registry_container_insert AFTER INSERT ON container_unit"
+                    + " WHEN NEW.serial_number IS NOT NULL BEGIN"
+                    + " INSERT OR IGNORE INTO serial_registry (serial_number, kind, entity_id)"
+                    + " VALUES (NEW.serial_number, 'CONTAINER', NEW.id); END",
+            "CREATE TRIGGER IF NOT EXISTS trg_serial_registry_container_update AFTER UPDATE OF serial_number ON container_unit BEGIN"
+                    + " DELETE FROM serial_registry WHERE serial_number = OLD.serial_number AND kind = 'CONTAINER' AND entity_id = OLD.id;"
+                    + " INSERT OR IGNORE INTO serial_registry (serial_number, kind, entity_id)"
+                    + " SELECT NEW.serial_number, 'CONTAINER', NEW.id WHERE NEW.serial_number IS NOT NULL; END",
+            "CREATE TRIGGER IF NOT EXISTS trg_serial_registry_container_delete AFTER DELETE ON container_unit BEGIN"
+                    + " DELETE FROM serial_registry WHERE serial_number = OLD.serial_number AND kind = 'CONTAINER' AND entity_id = OLD.id; END");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SerialRegistryRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<Entry> resolve(String serialNumber) {
+        return jdbcTemplate.query("SELECT kind, entity_id FROM serial_registry WHERE serial_number = ?",
+                (rs, i) -> new Entry(Kind.valueOf(rs.getString(1)), rs.getLong(2)), serialNumber)
+                .stream().findFirst();
+    }
+
+    public long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM serial_registry", Long.class);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Streams every registered serial without materialising the list.
+     */
+    public void forEachSerial(Consumer<String> consumer) {
+        jdbcTemplate.query("SELECT serial_number FROM serial_registry",
+                (RowCallbackHandler) rs -> consumer.accept(rs.getString(1)));
+    }
+
+    public void installTriggers() {
+        TRIGGERS.forEach(jdbcTemplate::execute);
+    }
+
+    /**
+     * Adds serials written while the triggers were not installed (older databases, or rows
+     * seeded before startup finished). Returns the number of entries added.
+     */
+    public int backfill() {
+        Long registered = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM serial_registry", Long.class);
+        Long serials = jdbcTemplate.queryForObject("SELECT"
+                + " (SELECT COUNT(*) FROM inventory WHERE serial_number IS NOT NULL)"
+                + " + (SELECT COUNT(*) FROM container_unit WHERE serial_number IS NOT NULL)", Long.class);
+        if (registered != null && registered.equals(serials)) {
+            return 0;
+        }
+        return jdbcTemplate.update("INSERT OR IGNORE INTO serial_registry (serial_number, kind, entity_id)"
+                + " SELECT serial_number, 'ITEM', id FROM inventory WHERE serial_number IS NOT NULL")
+                + jdbcTemplate.update("INSERT OR IGNORE INTO serial_registry (serial_number, kind, entity_id)"
+                + " SELECT serial_number, 'CONTAINER', id FROM container_unit WHERE serial_number IS NOT NULL");
+    }
+}
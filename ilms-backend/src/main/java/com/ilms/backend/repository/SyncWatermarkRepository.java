@@ -0,0 +1,6 @@
+package com.ilms.backend.repository;
+
+import com.ilms.backend.entity.SyncWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SyncWatermarkRepository extends JpaRepository<SyncWatermark, String> { }
@@ -0,0 +1,16 @@
+package com.ilms.backend.repository;
+
+import com.ilms.backend.entity.TraceEvent;
+
+import java.util.List;
+
+/**
+ * Set-based trace-event writes for the ingestion pipeline.
+ */
+public interface TraceEventBulkRepository {
+
+    /**
+     * Inserts the events with one JDBC batch. Must run inside the caller's write transaction.
+     */
+    void insertBatch(List<TraceEvent> events);
+}
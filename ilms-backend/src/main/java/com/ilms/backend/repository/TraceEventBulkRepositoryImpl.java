@@ -0,0 +1,57 @@
+package com.ilms.backend.repository;
+
+import com.ilms.backend.entity.TraceEvent;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class TraceEventBulkRepositoryImpl implements TraceEventBulkRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO trace_event "
+            + "(event_type, timestamp, location, user, notes, status, inventory_id, container_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TraceEventBulkRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertBatch(List<TraceEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                TraceEvent event = events.get(i);
+                LocalDateTime timestamp = event.getTimestamp() != null ? event.getTimestamp() : LocalDateTime.now();
+                ps.setString(1, event.getEventType());
+                ps.setTimestamp(2, Timestamp.valueOf(timestamp));
+                ps.setString(3, event.getLocation());
+                ps.setString(4, event.getUser());
+                ps.setString(5, event.getNotes());
+                ps.setString(6, event.getStatus());
+                setId(ps, 7, event.getInventory() != null ? event.getInventory().getId() : null);
+                setId(ps, 8, event.getContainer() != null ? event.getContainer().getId() : null);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return events.size();
+            }
+        });
+    }
+
+    private static void setId(PreparedStatement ps, int index, Long id) throws SQLException {
+        if (id != null) {
+            ps.setLong(index, id);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+}
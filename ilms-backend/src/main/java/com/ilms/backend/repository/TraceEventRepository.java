@@ -1,11 +1,23 @@
 package com.ilms.backend.repository;
 
+import com.ilms.backend.dto.TraceEventRow;
 import com.ilms.backend.entity.TraceEvent;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.util.List;
 
-public interface TraceEventRepository extends JpaRepository<TraceEvent, Long> {
-    List<TraceEvent> findByInventoryIdOrderByTimestampDesc(Long inventoryId);
+public interface TraceEventRepository extends JpaRepository<TraceEvent, Long>, TraceEventBulkRepository {
+    @Query("select new com.ilms.backend.dto.TraceEventRow(e.id, e.eventType, e.timestamp, e.location, e.user,"
+            + " e.notes, e.status, i.id, i.serialNumber, c.id, c.serialNumber)"
+            + " from TraceEvent e left join e.inventory i left join e.container c"
+            + " where e.inventory.id = :inventoryId order by e.timestamp desc")
+    List<TraceEventRow> findRowsByInventoryId(@Param("inventoryId") Long inventoryId);
 
-    List<TraceEvent> findByContainerIdOrderByTimestampDesc(Long containerId);
+    @Query("select new com.ilms.backend.dto.TraceEventRow(e.id, e.eventType, e.timestamp, e.location, e.user,"
+            + " e.notes, e.status, i.id, i.serialNumber, c.id, c.serialNumber)"
+            + " from TraceEvent e left join e.inventory i left join e.container c"
+            + " where e.container.id = :containerId order by e.timestamp desc")
+    List<TraceEventRow> findRowsByContainerId(@Param("containerId") Long containerId);
 }
@@ -0,0 +1,163 @@
+package com.ilms.backend.service;
+
+import com.ilms.backend.dto.AggregationRequest;
+import com.ilms.backend.dto.AggregationSummary;
+import com.ilms.backend.repository.AggregationRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Applies a whole packing payload (items into new boxes, boxes onto new pallets) in one short
+ * transaction with a fixed number of set-based statements per parent, instead of loading and
+ * saving every child entity. Either every assignment is applied or none is.
+ */
+@Service
+public class AggregationService {
+    private final AggregationRepository aggregationRepo;
+    private final SerialBloomFilter serialFilter;
+    private final InventoryStageCounters stageCounters;
+
+    public AggregationService(AggregationRepository aggregationRepo, SerialBloomFilter serialFilter,
+            InventoryStageCounters stageCounters) {
+        this.aggregationRepo = aggregationRepo;
+        this.serialFilter = serialFilter;
+        this.stageCounters = stageCounters;
+    }
+
+    // Databases created before box/pallet were mapped to snake_case columns still hold camelCase ones
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void migrateContainerColumns() {
+        aggregationRepo.migrateLegacyCountColumns();
+    }
+
+    @Transactional
+    public AggregationSummary aggregate(AggregationRequest request) {
+        long started = System.nanoTime();
+        List<AggregationRequest.Assignment> boxes = request.getBoxes() != null ? request.getBoxes() : List.of();
+        List<AggregationRequest.Assignment> pallets = request.getPallets() != null ? request.getPallets() : List.of();
+        if (boxes.isEmpty() && pallets.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No boxes or pallets to create");
+        }
+
+        // Every serial may appear once: as a new container or as a child
+        List<String> newContainers = new ArrayList<>();
+        List<String> items = new ArrayList<>();
+        List<String> existingBoxes = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (AggregationRequest.Assignment box : boxes) {
+            requireUnique(seen, box.getSerialNumber());
+            newContainers.add(box.getSerialNumber());
+            requireChildren(box);
+            for (String item : box.getChildren()) {
+                requireUnique(seen, item);
+                items.add(item);
+            }
+        }
+        Set<String> newBoxes = new HashSet<>(newContainers);
+        Set<String> palletized = new HashSet<>();
+        for (AggregationRequest.Assignment pallet : pallets) {
+            requireUnique(seen, pallet.getSerialNumber());
+            newContainers.add(pallet.getSerialNumber());
+            requireChildren(pallet);
+            for (String box : pallet.getChildren()) {
+                // A box from this request is already in seen, so only check it is not on two pallets
+                requireUnique(newBoxes.contains(box) ? palletized : seen, box);
+                if (!newBoxes.contains(box)) {
+                    existingBoxes.add(box);
+                }
+            }
+        }
+
+        // One query per check, all before the first write
+        List<String> taken = aggregationRepo.findRegistered(newContainers);
+        if (!taken.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Serials already in use: " + taken.stream().limit(20).toList());
+        }
+        List<AggregationRepository.UnpackedItem> packable = aggregationRepo.findUnpackedItems(items);
+        if (packable.size() != items.size()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Items unknown or already packed: "
+                    + missing(items, packable.stream().map(AggregationRepository.UnpackedItem::serialNumber).toList()));
+        }
+        List<String> loose = aggregationRepo.findLooseBoxes(existingBoxes);
+        if (loose.size() != existingBoxes.size()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Boxes unknown or already on a pallet: " + missing(existingBoxes, loose));
+        }
+
+        long firstId = aggregationRepo.allocateContainerIds(newContainers.size());
+        if (!boxes.isEmpty()) {
+            aggregationRepo.insertBoxes(firstId,
+                    boxes.stream().map(AggregationRequest.Assignment::getSerialNumber).toList(),
+                    boxes.stream().map(b -> b.getChildren().size()).toList());
+        }
+        long firstPalletId = firstId + boxes.size();
+        if (!pallets.isEmpty()) {
+            aggregationRepo.insertPallets(firstPalletId,
+                    pallets.stream().map(AggregationRequest.Assignment::getSerialNumber).toList(),
+                    pallets.stream().map(p -> p.getChildren().size()).toList());
+        }
+
+        // The IS NULL guards in the updates catch children packed after validation
+        int itemsPacked = 0;
+        for (int i = 0; i < boxes.size(); i++) {
+            itemsPacked += aggregationRepo.packItems(firstId + i, boxes.get(i).getChildren());
+        }
+        int boxesPalletized = 0;
+        for (int i = 0; i < pallets.size(); i++) {
+            boxesPalletized += aggregationRepo.palletizeBoxes(firstPalletId + i, pallets.get(i).getChildren());
+        }
+        int expectedBoxes = pallets.stream().mapToInt(p -> p.getChildren().size()).sum();
+        if (itemsPacked != items.size() || boxesPalletized != expectedBoxes) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Children were packed concurrently; nothing was applied");
+        }
+
+        newContainers.forEach(serialFilter::put);
+        // Every validated item was updated, so the pre-read statuses are exactly what moved
+        Map<InventoryStageCounters.Key, Long> deltas = new HashMap<>();
+        for (AggregationRepository.UnpackedItem item : packable) {
+            if (!"PACKED".equals(item.status())) {
+                deltas.merge(new InventoryStageCounters.Key(item.status(), item.materialId(), item.locationId()), -1L, Long::sum);
+                deltas.merge(new InventoryStageCounters.Key("PACKED", item.materialId(), item.locationId()), 1L, Long::sum);
+            }
+        }
+        stageCounters.apply(deltas);
+        return new AggregationSummary(boxes.size(), pallets.size(), itemsPacked, boxesPalletized,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static void requireUnique(Set<String> seen, String serial) {
+        if (serial == null || serial.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Serial number is required");
+        }
+        if (!seen.add(serial)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Serial listed twice: " + serial);
+        }
+    }
+
+    private static void requireChildren(AggregationRequest.Assignment assignment) {
+        if (assignment.getChildren() == null || assignment.getChildren().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Container " + assignment.getSerialNumber() + " has no children");
+        }
+    }
+
+    private static List<String> missing(List<String> requested, List<String> found) {
+        Set<String> present = new HashSet<>(found);
+        return requested.stream().filter(s -> !present.contains(s)).limit(20).toList();
+    }
+}
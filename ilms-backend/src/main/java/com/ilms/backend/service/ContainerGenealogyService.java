@@ -0,0 +1,38 @@
+package com.ilms.backend.service;
+
+import com.ilms.backend.dto.GenealogyNode;
+import com.ilms.backend.repository.ContainerGenealogyRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+public class ContainerGenealogyService {
+    private final ContainerGenealogyRepository genealogyRepo;
+
+    public ContainerGenealogyService(ContainerGenealogyRepository genealogyRepo) {
+        this.genealogyRepo = genealogyRepo;
+    }
+
+    /**
+     * Everything packed in the container, at any depth. Replaces the Supabase
+     * {@code get_container_contents} function, which only returned direct children.
+     */
+    @Transactional(readOnly = true)
+    public List<GenealogyNode> getContents(String containerSerial, Integer maxDepth) {
+        if (maxDepth != null && maxDepth < 0) {
+            throw new IllegalArgumentException("maxDepth must not be negative");
+        }
+        return genealogyRepo.findContents(containerSerial, maxDepth);
+    }
+
+    /**
+     * The chain of containers enclosing an item or container. Replaces the Supabase
+     * {@code get_item_hierarchy} function.
+     */
+    @Transactional(readOnly = true)
+    public List<GenealogyNode> getAncestors(String serialNumber) {
+        return genealogyRepo.findAncestors(serialNumber);
+    }
+}
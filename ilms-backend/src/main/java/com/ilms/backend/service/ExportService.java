@@ -0,0 +1,205 @@
+package com.ilms.backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Set;
+
+/**
+ * Streams full table dumps from a forward-only JDBC cursor straight to an output stream, one
+ * row at a time, so heap use does not grow with the number of rows exported.
+ */
+@Service
+public class ExportService {
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private static final String INVENTORY_SQL = "SELECT i.id, i.serial_number, i.batch_number, i.status,"
+            + " m.code AS material_code, l.code AS location_code, i.box_id, i.created_at, i.updated_at"
+            + " FROM inventory i"
+            + " LEFT JOIN materials m ON m.id = i.material_id"
+            + " LEFT JOIN locations l ON l.id = i.location_id"
+            + " ORDER BY i.id";
+
+    private static final String TRACE_EVENT_SQL = "SELECT e.id, e.event_type, e.timestamp, e.location, e.user,"
+            + " e.status, e.notes, i.serial_number AS inventory_serial, c.serial_number AS container_serial"
+            + " FROM trace_event e"
+            + " LEFT JOIN inventory i ON i.id = e.inventory_id"
+            + " LEFT JOIN container_unit c ON c.id = e.container_id"
+            + " ORDER BY e.id";
+
+    // Stored as epoch millis; exported as ISO-8601 local date-times like the JSON API
+    private static final Set<String> TIMESTAMP_COLUMNS = Set.of("created_at", "updated_at", "timestamp");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public ExportService(@Qualifier("readDataSource") DataSource dataSource, ObjectMapper objectMapper,
+            @Value("${ilms.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.objectMapper = objectMapper;
+    }
+
+    public void exportInventory(Format format, OutputStream out) throws IOException {
+        export(INVENTORY_SQL, format, out);
+    }
+
+    public void exportTraceEvents(Format format, OutputStream out) throws IOException {
+        export(TRACE_EVENT_SQL, format, out);
+    }
+
+    private void export(String sql, Format format, OutputStream out) throws IOException {
+        RowWriter writer = format == Format.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out);
+        try {
+            jdbcTemplate.query(sql, (ResultSetExtractor<Void>) rs -> {
+                ResultSetMetaData meta = rs.getMetaData();
+                String[] labels = new String[meta.getColumnCount()];
+                for (int c = 0; c < labels.length; c++) {
+                    labels[c] = meta.getColumnLabel(c + 1);
+                }
+                Object[] values = new Object[labels.length];
+                try {
+                    writer.begin(labels);
+                    while (rs.next()) {
+                        for (int c = 0; c < labels.length; c++) {
+                            values[c] = value(rs, c + 1, labels[c]);
+                        }
+                        writer.write(values);
+                    }
+                    writer.finish();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return null;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Object value(ResultSet rs, int column, String label) throws SQLException {
+        if (TIMESTAMP_COLUMNS.contains(label)) {
+            Timestamp ts = rs.getTimestamp(column);
+            return ts != null ? ts.toLocalDateTime().toString() : null;
+        }
+        return rs.getObject(column);
+    }
+
+    private interface RowWriter {
+        void begin(String[] labels) throws IOException;
+
+        void write(Object[] values) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+        private String[] labels;
+
+        NdjsonRowWriter(OutputStream out) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        public void begin(String[] labels) {
+            this.labels = labels;
+        }
+
+        @Override
+        public void write(Object[] values) throws IOException {
+            generator.writeStartObject();
+            for (int c = 0; c < labels.length; c++) {
+                generator.writeFieldName(labels[c]);
+                generator.writeObject(values[c]);
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void begin(String[] labels) throws IOException {
+            writeRecord(labels);
+        }
+
+        @Override
+        public void write(Object[] values) throws IOException {
+            writeRecord(values);
+        }
+
+        private void writeRecord(Object[] fields) throws IOException {
+            for (int c = 0; c < fields.length; c++) {
+                if (c > 0) {
+                    writer.write(',');
+                }
+                String text = fields[c] != null ? fields[c].toString() : "";
+                // RFC 4180: quote fields containing separators, quotes or line breaks
+                if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0
+                        || text.indexOf('\r') >= 0) {
+                    writer.write('"');
+                    writer.write(text.replace("\"", "\"\""));
+                    writer.write('"');
+                } else {
+                    writer.write(text);
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+    }
+}
@@ -1,63 +1,155 @@
 package com.ilms.backend.service;
 
+import com.ilms.backend.dto.BatchRegistrationSummary;
+import com.ilms.backend.dto.InventoryRow;
+import com.ilms.backend.dto.PageResponse;
 import com.ilms.backend.entity.*;
 import com.ilms.backend.repository.*;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
 
 @Service
 public class InventoryService {
     private final InventoryRepository inventoryRepo;
     private final ContainerUnitRepository containerRepo;
-    private final MaterialMasterRepository materialRepo;
+    private final MaterialRepository materialRepo;
+    private final LocationRepository locationRepo;
+    private final SerialBloomFilter serialFilter;
+    private final SerialAllocator serialAllocator;
+    private final InventoryStageCounters stageCounters;
 
     public InventoryService(InventoryRepository inventoryRepo, ContainerUnitRepository containerRepo,
-            MaterialMasterRepository materialRepo) {
+            MaterialRepository materialRepo, LocationRepository locationRepo, SerialBloomFilter serialFilter,
+            SerialAllocator serialAllocator, InventoryStageCounters stageCounters) {
         this.inventoryRepo = inventoryRepo;
         this.containerRepo = containerRepo;
         this.materialRepo = materialRepo;
+        this.locationRepo = locationRepo;
+        this.serialFilter = serialFilter;
+        this.serialAllocator = serialAllocator;
+        this.stageCounters = stageCounters;
     }
 
+    @Transactional(readOnly = true)
     public List<Inventory> list() {
         return inventoryRepo.findAll();
     }
 
+    /**
+     * Keyset page ordered by id; {@code afterId} is the last id of the previous page. Rows are
+     * projected to {@link InventoryRow} in one join, so no material, location or box entity is
+     * loaded or serialised.
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<InventoryRow> page(Long afterId, String status, String batchNumber, String materialCode,
+            String locationCode, int limit) {
+        // Filter on the foreign keys directly; an unknown code cannot match anything
+        String materialId = null;
+        if (materialCode != null) {
+            Optional<Material> material = materialRepo.findByCode(materialCode);
+            if (material.isEmpty()) {
+                return PageResponse.of(List.of(), limit, InventoryRow::getId);
+            }
+            materialId = material.get().getId();
+        }
+        String locationId = null;
+        if (locationCode != null) {
+            Optional<String> location = locationRepo.findIdByCode(locationCode);
+            if (location.isEmpty()) {
+                return PageResponse.of(List.of(), limit, InventoryRow::getId);
+            }
+            locationId = location.get();
+        }
+        List<InventoryRow> rows = inventoryRepo.findRows(afterId, status, batchNumber, materialId, locationId,
+                limit + 1);
+        return PageResponse.of(rows, limit, InventoryRow::getId);
+    }
+
     @Transactional
     public List<Inventory> registerBatch(String materialCode, String batchNumber, int quantity) {
-        MaterialMaster material = materialRepo.findById(materialCode)
-                .orElseThrow(() -> new RuntimeException("Material not found"));
+        Material material = materialRepo.findByCode(materialCode)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Material not found: " + materialCode));
 
         List<Inventory> items = new ArrayList<>();
+        if (quantity <= 0) {
+            return items;
+        }
+        SerialAllocator.Range serials = serialAllocator.allocate(material, batchNumber, quantity);
         for (int i = 0; i < quantity; i++) {
             Inventory item = new Inventory();
             item.setMaterial(material);
             item.setBatchNumber(batchNumber);
-            item.setSerialNumber(UUID.randomUUID().toString()); // Simple UUID for now
+            item.setSerialNumber(serials.serialAt(i));
             item.setStatus("REGISTERED");
             items.add(item);
+            serialFilter.put(item.getSerialNumber());
         }
+        stageCounters.added("REGISTERED", material.getId(), null, quantity);
         return inventoryRepo.saveAll(items);
     }
 
+    /**
+     * Registers a batch with one id-block reservation and batched JDBC inserts instead of
+     * one persisted entity per unit. Only the serial range is returned.
+     */
+    @Transactional
+    public BatchRegistrationSummary registerBatchBulk(String materialCode, String batchNumber, int quantity) {
+        if (quantity <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "quantity must be positive");
+        }
+        Material material = materialRepo.findByCode(materialCode)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Material not found: " + materialCode));
+
+        SerialAllocator.Range serials = serialAllocator.allocate(material, batchNumber, quantity);
+        long firstId = inventoryRepo.allocateIdBlock(quantity);
+        long lastId = firstId + quantity - 1;
+        inventoryRepo.insertRegisteredBlock(firstId, quantity, material.getId(), batchNumber, serials::serialAt);
+        for (int i = 0; i < quantity; i++) {
+            serialFilter.put(serials.serialAt(i));
+        }
+        stageCounters.added("REGISTERED", material.getId(), null, quantity);
+
+        return new BatchRegistrationSummary(materialCode, batchNumber, quantity, firstId, lastId,
+                serials.firstSerial(), serials.lastSerial());
+    }
+
+    public Map<String, Object> getSerialAllocatorStats() {
+        return serialAllocator.getStats();
+    }
+
     @Transactional
     public Box packItemsIntoBox(List<Long> inventoryIds, String boxSerial) {
         Box box = new Box();
         box.setSerialNumber(boxSerial);
         box.setStatus("FULL");
         box.setItemCount(inventoryIds.size());
+        serialFilter.put(boxSerial);
         box = (Box) containerRepo.save(box);
 
         List<Inventory> items = inventoryRepo.findAllById(inventoryIds);
+        Map<InventoryStageCounters.Key, Long> deltas = new HashMap<>();
         for (Inventory item : items) {
+            if (!"PACKED".equals(item.getStatus())) {
+                String materialId = item.getMaterial() != null ? item.getMaterial().getId() : null;
+                String locationId = item.getLocation() != null ? item.getLocation().getId() : null;
+                deltas.merge(new InventoryStageCounters.Key(item.getStatus(), materialId, locationId), -1L, Long::sum);
+                deltas.merge(new InventoryStageCounters.Key("PACKED", materialId, locationId), 1L, Long::sum);
+            }
             item.setBox(box);
             item.setStatus("PACKED");
         }
         inventoryRepo.saveAll(items);
+        stageCounters.apply(deltas);
         return box;
     }
 }
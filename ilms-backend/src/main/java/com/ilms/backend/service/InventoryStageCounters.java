@@ -0,0 +1,240 @@
+package com.ilms.backend.service;
+
+import com.ilms.backend.dto.StageCell;
+import com.ilms.backend.dto.StageCount;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Inventory counts per status x material x location, kept in memory so the dashboard's stage
+ * breakdown never runs a {@code GROUP BY} over inventory. Seeded once at startup; every status
+ * transition made by the services reports its delta here, and deltas are applied only when the
+ * writing transaction commits.
+ *
+ * A periodic reconciliation recounts the table and corrects any drift (rows changed outside the
+ * services, e.g. by hand or by an older build). The recount runs on the read pool without
+ * blocking writers; only when it disagrees with the counters is the table counted again in a
+ * write transaction, where the single-writer transaction manager guarantees that no commit lands
+ * between the recount and the swap. Seeding uses that same locked count, so deltas committed
+ * while the application starts are never lost.
+ */
+@Component
+public class InventoryStageCounters {
+    private static final Logger logger = LoggerFactory.getLogger(InventoryStageCounters.class);
+
+    // Dashboard order; statuses not listed follow alphabetically
+    private static final List<String> STAGE_ORDER = List.of(
+            "PRE_INVENTORY", "REGISTERED", "ACTIVE", "PACKED", "SHIPPED", "DELIVERED", "CONSUMED");
+
+    public record Key(String status, String materialId, String locationId) {
+    }
+
+    private static final class State {
+        final Map<Key, LongAdder> cells = new ConcurrentHashMap<>();
+        final Map<String, LongAdder> byStatus = new ConcurrentHashMap<>();
+        final LongAdder total = new LongAdder();
+
+        void add(Key key, long delta) {
+            cells.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+            byStatus.computeIfAbsent(Objects.toString(key.status(), "UNKNOWN"), s -> new LongAdder()).add(delta);
+            total.add(delta);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+
+    private volatile State state = new State();
+
+    private final LongAdder reconciliations = new LongAdder();
+    private final LongAdder lockedRecounts = new LongAdder();
+    private final LongAdder driftedCells = new LongAdder();
+    private volatile LocalDateTime lastReconciledAt;
+    private volatile int lastDriftCells;
+
+    public InventoryStageCounters(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    // Requests may already be committing; the count and the swap share the writer lock with them
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        writeTransaction.executeWithoutResult(status -> {
+            State seeded = new State();
+            countFromDatabase().forEach(seeded::add);
+            state = seeded;
+            logger.info("Seeded inventory stage counters: {} items in {} cells", seeded.total.sum(),
+                    seeded.cells.size());
+        });
+    }
+
+    /**
+     * Records {@code count} new items in a stage.
+     */
+    public void added(String status, String materialId, String locationId, long count) {
+        apply(Map.of(new Key(status, materialId, locationId), count));
+    }
+
+    /**
+     * Applies the deltas once the current transaction commits, or immediately outside one.
+     */
+    public void apply(Map<Key, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            State current = state;
+            deltas.forEach(current::add);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                State current = state;
+                deltas.forEach(current::add);
+            }
+        });
+    }
+
+    /**
+     * Totals per stage in dashboard order; cost depends only on the number of distinct statuses.
+     */
+    public List<StageCount> getStages() {
+        State current = state;
+        long total = current.total.sum();
+        List<StageCount> stages = new ArrayList<>();
+        current.byStatus.forEach((status, count) -> {
+            long n = count.sum();
+            if (n != 0) {
+                stages.add(new StageCount(status, n, total > 0 ? Math.round(n * 1000.0 / total) / 10.0 : 0.0));
+            }
+        });
+        stages.sort(Comparator.comparingInt((StageCount s) -> stageRank(s.getStage())).thenComparing(StageCount::getStage));
+        return stages;
+    }
+
+    public List<StageCell> getBreakdown() {
+        List<StageCell> cells = new ArrayList<>();
+        state.cells.forEach((key, count) -> {
+            long n = count.sum();
+            if (n != 0) {
+                cells.add(new StageCell(key.status(), key.materialId(), key.locationId(), n));
+            }
+        });
+        cells.sort(Comparator.comparingInt((StageCell c) -> stageRank(c.getStage()))
+                .thenComparing(StageCell::getStage, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(StageCell::getMaterialId, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(StageCell::getLocationId, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return cells;
+    }
+
+    /**
+     * Recounts inventory and replaces the counters if any cell differs. Returns the number of
+     * drifted cells.
+     */
+    @Scheduled(fixedDelayString = "${ilms.dashboard.reconcile-interval-ms:300000}",
+            initialDelayString = "${ilms.dashboard.reconcile-interval-ms:300000}")
+    public int reconcile() {
+        // A difference here may only be a commit racing the snapshot, so it is confirmed under the lock
+        Integer suspected = readTransaction.execute(status -> drift(countFromDatabase(), new ArrayList<>()));
+        int drifted = 0;
+        if (suspected != null && suspected > 0) {
+            lockedRecounts.increment();
+            Integer confirmed = writeTransaction.execute(status -> {
+                Map<Key, Long> actual = countFromDatabase();
+                List<String> examples = new ArrayList<>();
+                int cells = drift(actual, examples);
+                if (cells > 0) {
+                    logger.warn("Inventory stage counters drifted in {} cells, resetting from the database: {}",
+                            cells, examples);
+                    State corrected = new State();
+                    actual.forEach(corrected::add);
+                    state = corrected;
+                }
+                return cells;
+            });
+            drifted = confirmed != null ? confirmed : 0;
+        }
+        reconciliations.increment();
+        driftedCells.add(drifted);
+        lastDriftCells = drifted;
+        lastReconciledAt = LocalDateTime.now();
+        return drifted;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("items", state.total.sum());
+        stats.put("cells", state.cells.size());
+        stats.put("reconciliations", reconciliations.sum());
+        stats.put("lockedRecounts", lockedRecounts.sum());
+        stats.put("driftedCells", driftedCells.sum());
+        stats.put("lastDriftCells", lastDriftCells);
+        stats.put("lastReconciledAt", lastReconciledAt);
+        return stats;
+    }
+
+    // Number of cells whose counter differs from {@code actual}, with up to five described in examples
+    private int drift(Map<Key, Long> actual, List<String> examples) {
+        Map<Key, LongAdder> counted = state.cells;
+        int drifted = 0;
+        for (Map.Entry<Key, Long> entry : actual.entrySet()) {
+            LongAdder kept = counted.get(entry.getKey());
+            long keptCount = kept != null ? kept.sum() : 0;
+            if (keptCount != entry.getValue()) {
+                drifted++;
+                if (examples.size() < 5) {
+                    examples.add(entry.getKey() + " counted " + keptCount + ", actual " + entry.getValue());
+                }
+            }
+        }
+        for (Map.Entry<Key, LongAdder> entry : counted.entrySet()) {
+            if (!actual.containsKey(entry.getKey()) && entry.getValue().sum() != 0) {
+                drifted++;
+                if (examples.size() < 5) {
+                    examples.add(entry.getKey() + " counted " + entry.getValue().sum() + ", actual 0");
+                }
+            }
+        }
+        return drifted;
+    }
+
+    private Map<Key, Long> countFromDatabase() {
+        Map<Key, Long> counts = new HashMap<>();
+        jdbcTemplate.query("SELECT status, material_id, location_id, COUNT(*) FROM inventory"
+                + " GROUP BY status, material_id, location_id",
+                (RowCallbackHandler) rs -> counts.put(
+                        new Key(rs.getString(1), rs.getString(2), rs.getString(3)), rs.getLong(4)));
+        return counts;
+    }
+
+    private static int stageRank(String status) {
+        int rank = STAGE_ORDER.indexOf(status);
+        return rank >= 0 ? rank : STAGE_ORDER.size();
+    }
+}
@@ -1,35 +1,101 @@
 package com.ilms.backend.service;
 
+import com.ilms.backend.dto.LocationRow;
+import com.ilms.backend.dto.PageResponse;
 import com.ilms.backend.entity.Location;
 import com.ilms.backend.repository.LocationRepository;
+import org.hibernate.Hibernate;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class LocationService {
     private final LocationRepository locationRepo;
+    private final LocationTreeCache treeCache;
+    private final ApplicationEventPublisher events;
 
-    public LocationService(LocationRepository locationRepo) {
+    public LocationService(LocationRepository locationRepo, LocationTreeCache treeCache,
+            ApplicationEventPublisher events) {
         this.locationRepo = locationRepo;
+        this.treeCache = treeCache;
+        this.events = events;
     }
 
+    @Transactional(readOnly = true)
     public List<Location> list() {
         return locationRepo.findAll();
     }
 
+    /**
+     * Keyset page ordered by code; {@code afterCode} is the last code of the previous page.
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<LocationRow> page(String afterCode, String status, String type, String parentCode,
+            int limit) {
+        List<LocationRow> rows = locationRepo.findPage(afterCode, status, type, parentCode, limit + 1);
+        return PageResponse.of(rows, limit, LocationRow::getCode);
+    }
+
+    // Tree reads are served from the in-memory snapshot; see LocationTreeCache
+
     public List<Location> getRoots() {
-        return locationRepo.findByParentIsNull();
+        return treeCache.getRoots();
     }
 
     public List<Location> getChildren(String parentCode) {
-        return locationRepo.findByParentCode(parentCode);
+        return treeCache.getChildren(parentCode);
     }
 
     public Optional<Location> get(String code) {
-        return locationRepo.findByCode(code);
+        return treeCache.get(code);
+    }
+
+    public Map<String, Object> getTreeCacheStats() {
+        return treeCache.getStats();
+    }
+
+    /**
+     * The location and everything below it, nearest levels first, in one closure-table lookup.
+     */
+    @Transactional(readOnly = true)
+    public List<Location> getSubtree(String code, Integer maxDepth) {
+        return locationRepo.findSubtree(code, maxDepth);
+    }
+
+    /**
+     * The chain of locations from the root down to and including {@code code}.
+     */
+    @Transactional(readOnly = true)
+    public List<Location> getAncestorPath(String code) {
+        return locationRepo.findAncestorPath(code);
+    }
+
+    // Seeded locations have no updated_at, which versions conditional GETs. Runs before the
+    // tree snapshot is first built, so the snapshot already carries the timestamps
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void backfillTimestamps() {
+        locationRepo.backfillUpdatedAt(LocalDateTime.now());
+    }
+
+    // Locations seeded by data.sql or written outside this service are not in the closure yet
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildHierarchyIndex() {
+        locationRepo.rebuildClosure();
     }
 
     @Transactional
@@ -40,10 +106,35 @@ public class LocationService {
                 child.setParent(location);
             }
         }
-        return locationRepo.save(location);
+        Location parent = location.getParent();
+        if (location.getId() != null && parent != null && parent.getId() != null
+                && locationRepo.isInSubtree(location.getId(), parent.getId())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "A location cannot be moved below itself or one of its descendants");
+        }
+        Location saved = locationRepo.saveAndFlush(location);
+        updateClosure(saved);
+        events.publishEvent(new LocationTreeCache.LocationsChangedEvent());
+        return saved;
     }
 
+    private void updateClosure(Location location) {
+        locationRepo.moveSubtree(location.getId(),
+                location.getParent() != null ? location.getParent().getId() : null);
+        // Only children sent with the request can be new or re-parented; the rest of the subtree
+        // already moved with its root above
+        if (location.getChildren() != null && Hibernate.isInitialized(location.getChildren())) {
+            for (Location child : location.getChildren()) {
+                updateClosure(child);
+            }
+        }
+    }
+
+    @Transactional
     public void delete(String code) {
+        // Children are removed with their parent (cascade), so the whole subtree leaves the closure
+        locationRepo.findByCode(code).ifPresent(location -> locationRepo.deleteSubtree(location.getId()));
         locationRepo.deleteByCode(code);
+        events.publishEvent(new LocationTreeCache.LocationsChangedEvent());
     }
 }
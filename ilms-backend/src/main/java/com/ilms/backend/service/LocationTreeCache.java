@@ -0,0 +1,208 @@
+package com.ilms.backend.service;
+
+import com.ilms.backend.entity.Location;
+import com.ilms.backend.repository.LocationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Immutable snapshot of the whole location tree, swapped in whole after every committed
+ * location change, so tree reads never touch the database.
+ *
+ * The served {@link Location}s are detached copies shared by all readers: {@code parent}
+ * points at the parent's copy and {@code children} is left unset. Treat them as read-only.
+ */
+@Component
+public class LocationTreeCache {
+    private static final Logger logger = LoggerFactory.getLogger(LocationTreeCache.class);
+
+    /**
+     * Published by {@link LocationService} inside a write transaction; the snapshot is rebuilt once it commits.
+     */
+    public static final class LocationsChangedEvent {
+    }
+
+    private final LocationRepository locationRepo;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    private final LongAdder rootHits = new LongAdder();
+    private final LongAdder childrenHits = new LongAdder();
+    private final LongAdder getHits = new LongAdder();
+    private final LongAdder getMisses = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+
+    public LocationTreeCache(LocationRepository locationRepo) {
+        this.locationRepo = locationRepo;
+    }
+
+    public List<Location> getRoots() {
+        rootHits.increment();
+        return snapshot.roots();
+    }
+
+    public List<Location> getChildren(String parentCode) {
+        childrenHits.increment();
+        return snapshot.children(parentCode);
+    }
+
+    public Optional<Location> get(String code) {
+        Optional<Location> location = snapshot.get(code);
+        (location.isPresent() ? getHits : getMisses).increment();
+        return location;
+    }
+
+    public Optional<Location> getById(String id) {
+        return snapshot.getById(id);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        refresh();
+    }
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onLocationsChanged(LocationsChangedEvent event) {
+        refresh();
+    }
+
+    /**
+     * Reloads every location and swaps in a new snapshot. Serialized so that a slower rebuild
+     * cannot replace the snapshot of a later commit.
+     */
+    @Transactional(readOnly = true)
+    public synchronized void refresh() {
+        long started = System.nanoTime();
+        snapshot = Snapshot.of(locationRepo.findAll());
+        rebuilds.increment();
+        logger.debug("Rebuilt location tree snapshot with {} locations in {} ms",
+                snapshot.nodes.length, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("locations", snapshot.nodes.length);
+        stats.put("builtAt", snapshot.builtAt);
+        stats.put("rebuilds", rebuilds.sum());
+        stats.put("rootHits", rootHits.sum());
+        stats.put("childrenHits", childrenHits.sum());
+        stats.put("getHits", getHits.sum());
+        stats.put("getMisses", getMisses.sum());
+        return stats;
+    }
+
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(new Location[0], new int[0], new int[0][], Map.of(), Map.of(), null);
+
+        // Nodes sorted by code; parent[i] is the index of node i's parent or -1, children[i] its child indexes
+        final Location[] nodes;
+        final int[] parent;
+        final int[][] children;
+        final Map<String, Integer> byCode;
+        final Map<String, Integer> byId;
+        final int[] roots;
+        final LocalDateTime builtAt;
+
+        private Snapshot(Location[] nodes, int[] parent, int[][] children, Map<String, Integer> byCode,
+                Map<String, Integer> byId, LocalDateTime builtAt) {
+            this.nodes = nodes;
+            this.parent = parent;
+            this.children = children;
+            this.byCode = byCode;
+            this.byId = byId;
+            this.builtAt = builtAt;
+            List<Integer> rootIndexes = new ArrayList<>();
+            for (int i = 0; i < nodes.length; i++) {
+                if (parent[i] < 0) {
+                    rootIndexes.add(i);
+                }
+            }
+            this.roots = rootIndexes.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        static Snapshot of(List<Location> locations) {
+            List<Location> sorted = new ArrayList<>(locations);
+            sorted.sort(Comparator.comparing(Location::getCode));
+            int n = sorted.size();
+
+            Location[] nodes = new Location[n];
+            Map<String, Integer> byCode = new HashMap<>(n * 2);
+            Map<String, Integer> byId = new HashMap<>(n * 2);
+            for (int i = 0; i < n; i++) {
+                Location copy = new Location();
+                BeanUtils.copyProperties(sorted.get(i), copy, "parent", "children");
+                nodes[i] = copy;
+                byCode.put(copy.getCode(), i);
+                byId.put(copy.getId(), i);
+            }
+
+            int[] parent = new int[n];
+            int[] childCount = new int[n];
+            for (int i = 0; i < n; i++) {
+                Location p = sorted.get(i).getParent();
+                Integer pi = p != null ? byId.get(p.getId()) : null;
+                parent[i] = pi != null ? pi : -1;
+                if (pi != null) {
+                    nodes[i].setParent(nodes[pi]);
+                    childCount[pi]++;
+                }
+            }
+            int[][] children = new int[n][];
+            for (int i = 0; i < n; i++) {
+                children[i] = new int[childCount[i]];
+                childCount[i] = 0;
+            }
+            for (int i = 0; i < n; i++) {
+                if (parent[i] >= 0) {
+                    children[parent[i]][childCount[parent[i]]++] = i;
+                }
+            }
+            return new Snapshot(nodes, parent, children, byCode, byId, LocalDateTime.now());
+        }
+
+        List<Location> roots() {
+            return select(roots);
+        }
+
+        List<Location> children(String parentCode) {
+            Integer i = byCode.get(parentCode);
+            return i != null ? select(children[i]) : List.of();
+        }
+
+        Optional<Location> get(String code) {
+            Integer i = byCode.get(code);
+            return i != null ? Optional.of(nodes[i]) : Optional.empty();
+        }
+
+        Optional<Location> getById(String id) {
+            Integer i = byId.get(id);
+            return i != null ? Optional.of(nodes[i]) : Optional.empty();
+        }
+
+        private List<Location> select(int[] indexes) {
+            Location[] selected = new Location[indexes.length];
+            for (int k = 0; k < indexes.length; k++) {
+                selected[k] = nodes[indexes[k]];
+            }
+            return List.of(selected);
+        }
+    }
+}
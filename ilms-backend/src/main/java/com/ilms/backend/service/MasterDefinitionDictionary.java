@@ -0,0 +1,110 @@
+package com.ilms.backend.service;
+
+import com.ilms.backend.entity.MasterDefinition;
+import com.ilms.backend.repository.MasterDefinitionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable, versioned snapshot of every master definition, grouped by {@code defType} and
+ * swapped in whole after every committed change, so dropdown reads never touch the database.
+ *
+ * The version goes up by one with every rebuild. Together with the startup time it forms the
+ * snapshot's ETag, so a tag handed out before a restart never matches one handed out after it.
+ * The served definitions are shared by all readers; treat them as read-only.
+ */
+@Component
+public class MasterDefinitionDictionary {
+    private static final Logger logger = LoggerFactory.getLogger(MasterDefinitionDictionary.class);
+
+    /**
+     * Published by {@link MasterDefinitionService} inside a write transaction; the dictionary is rebuilt once it commits.
+     */
+    public static final class DefinitionsChangedEvent {
+    }
+
+    private final MasterDefinitionRepository repo;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private volatile Snapshot snapshot = new Snapshot(0, "\"" + epoch + "-0\"", List.of(), Map.of(), null);
+
+    private final LongAdder rebuilds = new LongAdder();
+
+    public MasterDefinitionDictionary(MasterDefinitionRepository repo) {
+        this.repo = repo;
+    }
+
+    /**
+     * The current snapshot; read the version and the definitions from the same one.
+     */
+    public Snapshot get() {
+        return snapshot;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        refresh();
+    }
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onDefinitionsChanged(DefinitionsChangedEvent event) {
+        refresh();
+    }
+
+    /**
+     * Reloads every definition and swaps in the next version. Serialized so that a slower
+     * rebuild cannot replace the snapshot of a later commit.
+     */
+    @Transactional(readOnly = true)
+    public synchronized void refresh() {
+        List<MasterDefinition> all = new ArrayList<>(repo.findAll());
+        all.sort(Comparator.comparing(MasterDefinition::getDefType).thenComparing(MasterDefinition::getDefValue));
+        Map<String, List<MasterDefinition>> activeByType = all.stream()
+                .filter(d -> !Boolean.FALSE.equals(d.getIsActive()))
+                .collect(Collectors.groupingBy(MasterDefinition::getDefType, Collectors.toUnmodifiableList()));
+        long version = snapshot.version() + 1;
+        snapshot = new Snapshot(version, "\"" + epoch + "-" + version + "\"", List.copyOf(all),
+                Map.copyOf(activeByType), LocalDateTime.now());
+        rebuilds.increment();
+        logger.debug("Rebuilt master definition dictionary version {} with {} definitions", version, all.size());
+    }
+
+    public Map<String, Object> getStats() {
+        Snapshot current = snapshot;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("version", current.version());
+        stats.put("etag", current.etag());
+        stats.put("definitions", current.all().size());
+        stats.put("types", current.activeByType().size());
+        stats.put("builtAt", current.builtAt());
+        stats.put("rebuilds", rebuilds.sum());
+        return stats;
+    }
+
+    /**
+     * {@code all} is sorted by type and value; {@code activeByType} holds only active definitions.
+     */
+    public record Snapshot(long version, String etag, List<MasterDefinition> all,
+            Map<String, List<MasterDefinition>> activeByType, LocalDateTime builtAt) {
+
+        public List<MasterDefinition> active(String defType) {
+            return activeByType.getOrDefault(defType, List.of());
+        }
+    }
+}
@@ -2,30 +2,54 @@ package com.ilms.backend.service;
 
 import com.ilms.backend.entity.MasterDefinition;
 import com.ilms.backend.repository.MasterDefinitionRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class MasterDefinitionService {
     private final MasterDefinitionRepository repo;
+    private final MasterDefinitionDictionary dictionary;
+    private final ApplicationEventPublisher events;
 
-    public MasterDefinitionService(MasterDefinitionRepository repo) {
+    public MasterDefinitionService(MasterDefinitionRepository repo, MasterDefinitionDictionary dictionary,
+            ApplicationEventPublisher events) {
         this.repo = repo;
+        this.dictionary = dictionary;
+        this.events = events;
+    }
+
+    // Reads are served from the in-memory dictionary; see MasterDefinitionDictionary
+
+    public MasterDefinitionDictionary.Snapshot getDictionary() {
+        return dictionary.get();
     }
 
     public List<MasterDefinition> listAll() {
-        return repo.findAll();
+        return dictionary.get().all();
     }
 
     public List<MasterDefinition> listByType(String type) {
-        return repo.findByDefTypeAndIsActiveTrue(type);
+        return dictionary.get().active(type);
+    }
+
+    public Map<String, Object> getDictionaryStats() {
+        return dictionary.getStats();
     }
 
+    @Transactional
     public MasterDefinition save(MasterDefinition def) {
-        return repo.save(def);
+        MasterDefinition saved = repo.save(def);
+        events.publishEvent(new MasterDefinitionDictionary.DefinitionsChangedEvent());
+        return saved;
     }
 
+    @Transactional
     public void delete(Long id) {
         repo.deleteById(id);
+        events.publishEvent(new MasterDefinitionDictionary.DefinitionsChangedEvent());
     }
 }
@@ -1,9 +1,13 @@
 package com.ilms.backend.service;
 
+import com.ilms.backend.dto.PageResponse;
 import com.ilms.backend.entity.Material;
 import com.ilms.backend.repository.MaterialRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,14 +20,44 @@ public class MaterialService {
         this.repo = repo;
     }
 
+    @Transactional(readOnly = true)
     public List<Material> list() {
         return repo.findAll();
     }
 
+    /**
+     * Keyset page ordered by code; {@code afterCode} is the last code of the previous page.
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<Material> page(String afterCode, String status, String type, String category, int limit) {
+        List<Material> rows = repo.findPage(afterCode, status, type, category, limit + 1);
+        return PageResponse.of(rows, limit, Material::getCode);
+    }
+
+    @Transactional(readOnly = true)
     public Optional<Material> get(String code) {
         return repo.findByCode(code);
     }
 
+    /**
+     * Version probe for conditional GETs: reads only {@code updatedAt}, empty if there is no
+     * such material. Rows without a timestamp report {@link LocalDateTime#MIN}.
+     */
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> getLastModified(String code) {
+        List<LocalDateTime> versions = repo.findUpdatedAtByCode(code);
+        if (versions.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(versions.get(0) != null ? versions.get(0) : LocalDateTime.MIN);
+    }
+
+    // Seeded materials have no updated_at, which versions conditional GETs
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillTimestamps() {
+        repo.backfillUpdatedAt(LocalDateTime.now());
+    }
+
     public Material save(Material material) {
         return repo.save(material);
     }
@@ -72,6 +72,7 @@ public class PackagingHierarchyService {
         hierarchyRepo.deleteById(id);
     }
 
+    @Transactional(readOnly = true)
     public Map<String, Object> preview(Long id) {
         PackagingHierarchy h = hierarchyRepo.findById(id).orElseThrow();
         // levels are ordered by levelIndex asc (1=innermost)
@@ -0,0 +1,143 @@
+package com.ilms.backend.service;
+
+import com.ilms.backend.entity.Material;
+import com.ilms.backend.repository.SerialCounterRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hands out sequential serial numbers per material and batch. Blocks of values are leased from
+ * {@code serial_counter} and then handed out from memory with a CAS, so allocating a serial
+ * costs no database round trip until the block runs out.
+ *
+ * Serials are formatted like a GS1 SGTIN element string, {@code (01)<item>(10)<batch>(21)<serial>},
+ * with the material code standing in for the GTIN. Values are unique but not gapless: the
+ * unused rest of a block is lost on restart, and serials taken by a rolled-back registration
+ * are not reused.
+ */
+@Component
+public class SerialAllocator {
+
+    /**
+     * {@code count} consecutive serial values starting at {@code first}.
+     */
+    public record Range(String materialCode, String batchNumber, long first, int count, int digits) {
+
+        public String serialAt(int offset) {
+            StringBuilder serial = new StringBuilder(32).append("(01)").append(materialCode);
+            if (batchNumber != null && !batchNumber.isEmpty()) {
+                serial.append("(10)").append(batchNumber);
+            }
+            String value = Long.toString(first + offset);
+            serial.append("(21)");
+            for (int i = value.length(); i < digits; i++) {
+                serial.append('0');
+            }
+            return serial.append(value).toString();
+        }
+
+        public String firstSerial() {
+            return serialAt(0);
+        }
+
+        public String lastSerial() {
+            return serialAt(count - 1);
+        }
+    }
+
+    private record Key(String materialId, String batchNumber) {
+    }
+
+    private static final class Lease {
+        final AtomicLong next;
+        final long end; // exclusive
+
+        Lease(long next, long end) {
+            this.next = new AtomicLong(next);
+            this.end = end;
+        }
+
+        /**
+         * Takes {@code count} values, or returns -1 if the lease has fewer left.
+         */
+        long take(int count) {
+            long first;
+            do {
+                first = next.get();
+                if (first + count > end) {
+                    return -1;
+                }
+            } while (!next.compareAndSet(first, first + count));
+            return first;
+        }
+    }
+
+    private final SerialCounterRepository counterRepo;
+    private final Map<Key, Lease> leases = new ConcurrentHashMap<>();
+
+    @Value("${ilms.serial.block-size:1000}")
+    private int blockSize;
+
+    @Value("${ilms.serial.digits:8}")
+    private int digits;
+
+    private final LongAdder allocated = new LongAdder();
+    private final LongAdder blocksLeased = new LongAdder();
+
+    public SerialAllocator(SerialCounterRepository counterRepo) {
+        this.counterRepo = counterRepo;
+    }
+
+    /**
+     * Allocates {@code count} serials for the material and batch. Must run inside the
+     * registering write transaction when one is active: a freshly leased block is only shared
+     * with other callers once that transaction commits, so a rollback, which also rolls the
+     * counter back, can never lead to the same values being handed out twice.
+     */
+    public Range allocate(Material material, String batchNumber, int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        Key key = new Key(material.getId(), batchNumber != null ? batchNumber : "");
+        allocated.add(count);
+
+        Lease lease = leases.get(key);
+        long first = lease != null ? lease.take(count) : -1;
+        if (first >= 0) {
+            return new Range(material.getCode(), batchNumber, first, count, digits);
+        }
+
+        long size = Math.max(blockSize, count);
+        first = counterRepo.lease(key.materialId(), key.batchNumber(), size);
+        blocksLeased.increment();
+        Lease rest = new Lease(first + count, first + size);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    leases.put(key, rest);
+                }
+            });
+        } else {
+            leases.put(key, rest);
+        }
+        return new Range(material.getCode(), batchNumber, first, count, digits);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("blockSize", blockSize);
+        stats.put("leases", leases.size());
+        stats.put("allocated", allocated.sum());
+        stats.put("blocksLeased", blocksLeased.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,167 @@
+package com.ilms.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Bloom filter over every known item and container serial, used to answer scans of foreign or
+ * mis-read tags without a database lookup. A negative answer is definite; a positive one
+ * still has to be confirmed against the serial registry.
+ *
+ * Serials are added inside the registering transaction, before they become visible, so a
+ * committed serial can never be rejected. Deleted serials stay in the filter and only cost
+ * an occasional false positive until the next rebuild at startup.
+ */
+@Component
+public class SerialBloomFilter {
+
+    private final long expectedSerials;
+    private final double targetFalsePositiveRate;
+
+    // Until the first rebuild everything is reported as possibly known
+    private volatile Bits bits;
+    // The filter being rebuilt, so serials registered meanwhile land in both
+    private volatile Bits building;
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    public SerialBloomFilter(@Value("${ilms.trace.serial-filter.expected-serials:1000000}") long expectedSerials,
+            @Value("${ilms.trace.serial-filter.false-positive-rate:0.01}") double targetFalsePositiveRate) {
+        this.expectedSerials = expectedSerials;
+        this.targetFalsePositiveRate = targetFalsePositiveRate;
+    }
+
+    /**
+     * Replaces the filter with one holding every serial the source emits. Sized for twice the
+     * current count (or the configured expectation, if larger) to leave room for growth.
+     */
+    public void rebuild(long currentCount, Consumer<Consumer<String>> source) {
+        Bits fresh = new Bits(Math.max(expectedSerials, currentCount * 2), targetFalsePositiveRate);
+        building = fresh;
+        source.accept(fresh::put);
+        bits = fresh;
+        building = null;
+    }
+
+    public void put(String serialNumber) {
+        if (serialNumber == null) {
+            return;
+        }
+        Bits current = bits;
+        if (current != null) {
+            current.put(serialNumber);
+        }
+        Bits next = building;
+        if (next != null && next != current) {
+            next.put(serialNumber);
+        }
+    }
+
+    /**
+     * {@code false} only if the serial was never registered. Counts the lookup and, when
+     * negative, the rejection.
+     */
+    public boolean mightContain(String serialNumber) {
+        lookups.increment();
+        Bits current = bits;
+        if (current == null || current.mightContain(serialNumber)) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * Records that a serial passed the filter but was not found in the registry.
+     */
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    public Map<String, Object> getStats() {
+        Bits current = bits;
+        long negatives = rejected.sum();
+        long fp = falsePositives.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("ready", current != null);
+        stats.put("bits", current != null ? current.bitCount : 0);
+        stats.put("hashFunctions", current != null ? current.hashCount : 0);
+        stats.put("serials", current != null ? current.inserted.sum() : 0);
+        stats.put("lookups", lookups.sum());
+        stats.put("rejected", negatives);
+        stats.put("falsePositives", fp);
+        // Share of unknown serials that got past the filter, as observed and as predicted from its fill
+        stats.put("observedFalsePositiveRate", negatives + fp > 0 ? (double) fp / (negatives + fp) : 0.0);
+        stats.put("expectedFalsePositiveRate", current != null ? current.expectedFalsePositiveRate() : 0.0);
+        return stats;
+    }
+
+    private static final class Bits {
+        final long bitCount;
+        final int hashCount;
+        final AtomicLongArray words;
+        final LongAdder inserted = new LongAdder();
+
+        Bits(long capacity, double falsePositiveRate) {
+            // m = -n ln p / (ln 2)^2, k = m / n ln 2
+            long m = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bitCount = Math.max(64, (m + 63) / 64 * 64);
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+            this.words = new AtomicLongArray((int) (bitCount / 64));
+        }
+
+        void put(String value) {
+            long h1 = hash(value, 0x9E3779B97F4A7C15L);
+            long h2 = hash(value, 0xC2B2AE3D27D4EB4FL);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long old;
+                do {
+                    old = words.get(word);
+                } while ((old & mask) == 0 && !words.compareAndSet(word, old, old | mask));
+            }
+            inserted.increment();
+        }
+
+        boolean mightContain(String value) {
+            long h1 = hash(value, 0x9E3779B97F4A7C15L);
+            long h2 = hash(value, 0xC2B2AE3D27D4EB4FL);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        double expectedFalsePositiveRate() {
+            return Math.pow(1 - Math.exp(-(double) hashCount * inserted.sum() / bitCount), hashCount);
+        }
+
+        private static long hash(String value, long seed) {
+            long h = seed ^ value.length();
+            for (int i = 0; i < value.length(); i++) {
+                h = (h ^ value.charAt(i)) * 0xFF51AFD7ED558CCDL;
+                h ^= h >>> 29;
+            }
+            // murmur3 fmix64 finaliser
+            h ^= h >>> 33;
+            h *= 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 33;
+            h *= 0xC4CEB9FE1A85EC53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
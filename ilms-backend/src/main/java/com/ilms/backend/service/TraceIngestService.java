@@ -0,0 +1,336 @@
+package com.ilms.backend.service;
+
+import com.ilms.backend.dto.TraceEventRequest;
+import com.ilms.backend.dto.TraceIngestAck;
+import com.ilms.backend.entity.TraceEvent;
+import com.ilms.backend.repository.ContainerUnitRepository;
+import com.ilms.backend.repository.InventoryRepository;
+import com.ilms.backend.repository.TraceEventRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Accepts trace events into a bounded queue and writes them with group commits: a single
+ * writer thread drains the queue and commits when a batch is full or the oldest queued
+ * event has waited the flush interval, so a burst of scans costs a few SQLite commits
+ * instead of one per event.
+ *
+ * In {@code COMMIT} durability mode callers are acknowledged once their events are
+ * committed; in {@code ENQUEUE} mode as soon as they are queued, trading durability on
+ * crash for latency.
+ *
+ * A batch that fails to commit is retried one event per transaction, so a single bad
+ * event only fails itself; failures are reported back per event and counted per producer.
+ */
+@Service
+public class TraceIngestService {
+    private static final Logger logger = LoggerFactory.getLogger(TraceIngestService.class);
+
+    public enum Durability {
+        COMMIT, ENQUEUE
+    }
+
+    private static final String UNKNOWN_PRODUCER = "unknown";
+
+    private record Pending(TraceEvent event, String producer, CompletableFuture<Void> committed) {
+    }
+
+    private final TraceEventRepository eventRepo;
+    private final InventoryRepository inventoryRepo;
+    private final ContainerUnitRepository containerRepo;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${ilms.trace.ingest.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${ilms.trace.ingest.batch-size:500}")
+    private int batchSize;
+
+    @Value("${ilms.trace.ingest.flush-interval-ms:50}")
+    private long flushIntervalMs;
+
+    @Value("${ilms.trace.ingest.enqueue-timeout-ms:100}")
+    private long enqueueTimeoutMs;
+
+    @Value("${ilms.trace.ingest.commit-timeout-ms:10000}")
+    private long commitTimeoutMs;
+
+    @Value("${ilms.trace.ingest.durability:COMMIT}")
+    private Durability durability;
+
+    private BlockingQueue<Pending> queue;
+    private Thread writer;
+    private volatile boolean running;
+    private final ReentrantLock enqueueLock = new ReentrantLock();
+    private final Condition spaceFreed = enqueueLock.newCondition();
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder committedEvents = new LongAdder();
+    private final LongAdder failedEvents = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder retriedBatches = new LongAdder();
+    private final Map<String, LongAdder> failedByProducer = new ConcurrentHashMap<>();
+    private final AtomicLong lastBatchSize = new AtomicLong();
+    private final AtomicLong lastBatchMillis = new AtomicLong();
+
+    public TraceIngestService(TraceEventRepository eventRepo, InventoryRepository inventoryRepo,
+            ContainerUnitRepository containerRepo, PlatformTransactionManager transactionManager) {
+        this.eventRepo = eventRepo;
+        this.inventoryRepo = inventoryRepo;
+        this.containerRepo = containerRepo;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    void start() {
+        // ArrayBlockingQueue is a fixed ring buffer; a full queue pushes back on producers
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        writer = new Thread(this::drainLoop, "trace-ingest");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        // The loop keeps flushing until the queue is empty
+        running = false;
+        writer.join(commitTimeoutMs);
+    }
+
+    /**
+     * Queues the events and acknowledges them according to the durability mode. A request is
+     * queued whole or not at all: when the queue has no room for every event within the
+     * enqueue timeout it is rejected with 503 and nothing is queued, so it is safe to retry.
+     * In {@code COMMIT} mode events that could not be committed are listed in the ack; when
+     * the commit timeout passes first the ack reports them accepted but not yet committed.
+     */
+    public TraceIngestAck ingest(List<TraceEventRequest> events) {
+        for (TraceEventRequest event : events) {
+            if (event.getEventType() == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "eventType is required");
+            }
+        }
+        if (events.size() > queueCapacity) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "At most " + queueCapacity + " trace events can be ingested per request");
+        }
+        List<Pending> pending = new ArrayList<>(events.size());
+        for (TraceEventRequest event : events) {
+            pending.add(new Pending(toEntity(event), producerOf(event), new CompletableFuture<>()));
+        }
+        try {
+            if (!enqueueAll(pending)) {
+                rejected.add(events.size());
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "Trace ingest queue is full; no events were accepted");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while enqueueing");
+        }
+        enqueued.add(events.size());
+
+        if (durability == Durability.ENQUEUE) {
+            return new TraceIngestAck(events.size(), durability.name(), false, queue.size());
+        }
+        // Queued events commit regardless of what happens here, so running out of time is
+        // reported in the ack rather than as an error a client would retry
+        List<TraceIngestAck.Failure> failures = new ArrayList<>();
+        boolean committed = true;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(commitTimeoutMs);
+        for (int i = 0; i < pending.size(); i++) {
+            try {
+                long wait = committed ? Math.max(0, deadline - System.nanoTime()) : 0;
+                pending.get(i).committed().get(wait, TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                failures.add(new TraceIngestAck.Failure(i, pending.get(i).producer(),
+                        NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+            } catch (TimeoutException e) {
+                committed = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                committed = false;
+            }
+        }
+        return new TraceIngestAck(events.size(), durability.name(), committed, queue.size(), failures);
+    }
+
+    // Producers enqueue one at a time and only the writer removes, so once the queue has room
+    // for the whole request every add succeeds
+    private boolean enqueueAll(List<Pending> pending) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(enqueueTimeoutMs);
+        if (!enqueueLock.tryLock(enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+            return false;
+        }
+        try {
+            while (queue.remainingCapacity() < pending.size()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                spaceFreed.awaitNanos(remaining);
+            }
+            queue.addAll(pending);
+            return true;
+        } finally {
+            enqueueLock.unlock();
+        }
+    }
+
+    // References are resolved to proxies; only their ids are read when the batch is written
+    private TraceEvent toEntity(TraceEventRequest request) {
+        TraceEvent event = new TraceEvent();
+        event.setEventType(request.getEventType());
+        event.setTimestamp(request.getTimestamp());
+        event.setLocation(request.getLocation());
+        event.setUser(request.getUser());
+        event.setNotes(request.getNotes());
+        event.setStatus(request.getStatus());
+        if (request.getInventoryId() != null) {
+            event.setInventory(inventoryRepo.getReferenceById(request.getInventoryId()));
+        }
+        if (request.getContainerId() != null) {
+            event.setContainer(containerRepo.getReferenceById(request.getContainerId()));
+        }
+        return event;
+    }
+
+    private static String producerOf(TraceEventRequest request) {
+        return request.getProducer() != null ? request.getProducer() : UNKNOWN_PRODUCER;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("durability", durability.name());
+        stats.put("queueDepth", queue.size());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("enqueued", enqueued.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("committed", committedEvents.sum());
+        stats.put("failed", failedEvents.sum());
+        stats.put("batches", batches.sum());
+        stats.put("retriedBatches", retriedBatches.sum());
+        stats.put("lastBatchSize", lastBatchSize.get());
+        stats.put("lastBatchMillis", lastBatchMillis.get());
+        Map<String, Long> byProducer = new LinkedHashMap<>();
+        failedByProducer.forEach((producer, count) -> byProducer.put(producer, count.sum()));
+        stats.put("failedByProducer", byProducer);
+        return stats;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    private void drainLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                signalSpaceFreed();
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void signalSpaceFreed() {
+        enqueueLock.lock();
+        try {
+            spaceFreed.signalAll();
+        } finally {
+            enqueueLock.unlock();
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        long started = System.nanoTime();
+        try {
+            insert(batch);
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                fail(batch.get(0), e);
+                return;
+            }
+            logger.warn("Failed to commit {} trace events, retrying them one by one", batch.size(), e);
+            retriedBatches.increment();
+            batch.forEach(this::retry);
+            return;
+        }
+        committedEvents.add(batch.size());
+        batches.increment();
+        lastBatchSize.set(batch.size());
+        lastBatchMillis.set((System.nanoTime() - started) / 1_000_000);
+        batch.forEach(p -> p.committed().complete(null));
+    }
+
+    private void retry(Pending pending) {
+        try {
+            insert(List.of(pending));
+        } catch (RuntimeException e) {
+            fail(pending, e);
+            return;
+        }
+        committedEvents.increment();
+        pending.committed().complete(null);
+    }
+
+    private void fail(Pending pending, RuntimeException e) {
+        failedEvents.increment();
+        failedByProducer.computeIfAbsent(pending.producer(), p -> new LongAdder()).increment();
+        logger.error("Failed to commit a {} trace event from {}", pending.event().getEventType(), pending.producer(), e);
+        pending.committed().completeExceptionally(e);
+    }
+
+    private void insert(List<Pending> pending) {
+        List<TraceEvent> events = pending.stream().map(Pending::event).toList();
+        transactionTemplate.executeWithoutResult(status -> eventRepo.insertBatch(events));
+    }
+}
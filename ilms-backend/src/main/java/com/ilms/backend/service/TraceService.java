@@ -1,41 +1,74 @@
 package com.ilms.backend.service;
 
-import com.ilms.backend.entity.ContainerUnit;
-import com.ilms.backend.entity.Inventory;
+import com.ilms.backend.dto.TraceEventRow;
 import com.ilms.backend.entity.TraceEvent;
-import com.ilms.backend.repository.ContainerUnitRepository;
-import com.ilms.backend.repository.InventoryRepository;
+import com.ilms.backend.repository.SerialRegistryRepository;
 import com.ilms.backend.repository.TraceEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class TraceService {
+    private static final Logger logger = LoggerFactory.getLogger(TraceService.class);
+
     private final TraceEventRepository eventRepo;
-    private final InventoryRepository inventoryRepo;
-    private final ContainerUnitRepository containerRepo;
+    private final SerialRegistryRepository serialRegistry;
+    private final SerialBloomFilter serialFilter;
+    private final TransactionTemplate readOnly;
 
-    public TraceService(TraceEventRepository eventRepo, InventoryRepository inventoryRepo,
-            ContainerUnitRepository containerRepo) {
+    public TraceService(TraceEventRepository eventRepo, SerialRegistryRepository serialRegistry,
+            SerialBloomFilter serialFilter, PlatformTransactionManager transactionManager) {
         this.eventRepo = eventRepo;
-        this.inventoryRepo = inventoryRepo;
-        this.containerRepo = containerRepo;
+        this.serialRegistry = serialRegistry;
+        this.serialFilter = serialFilter;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
     }
 
-    public List<TraceEvent> getHistory(String serialNumber) {
-        Optional<Inventory> inv = inventoryRepo.findBySerialNumber(serialNumber);
-        if (inv.isPresent()) {
-            return eventRepo.findByInventoryIdOrderByTimestampDesc(inv.get().getId());
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initSerialRegistry() {
+        serialRegistry.installTriggers();
+        int added = serialRegistry.backfill();
+        if (added > 0) {
+            logger.info("Backfilled {} serials into serial_registry", added);
         }
-        Optional<ContainerUnit> cont = containerRepo.findBySerialNumber(serialNumber);
-        if (cont.isPresent()) {
-            return eventRepo.findByContainerIdOrderByTimestampDesc(cont.get().getId());
+        serialFilter.rebuild(serialRegistry.count(), serialRegistry::forEachSerial);
+    }
+
+    public Map<String, Object> getSerialFilterStats() {
+        return serialFilter.getStats();
+    }
+
+    public List<TraceEventRow> getHistory(String serialNumber) {
+        // Foreign and mis-read tags are answered from memory, before a transaction is opened
+        if (!serialFilter.mightContain(serialNumber)) {
+            return Collections.emptyList();
         }
-        return Collections.emptyList();
+        return readOnly.execute(status -> {
+            // One probe resolves item vs container, then straight to that event index; rows are
+            // projected, so neither the item nor the container entity graph is loaded
+            Optional<SerialRegistryRepository.Entry> entry = serialRegistry.resolve(serialNumber);
+            if (entry.isEmpty()) {
+                serialFilter.recordFalsePositive();
+                return Collections.<TraceEventRow>emptyList();
+            }
+            return switch (entry.get().kind()) {
+                case ITEM -> eventRepo.findRowsByInventoryId(entry.get().id());
+                case CONTAINER -> eventRepo.findRowsByContainerId(entry.get().id());
+            };
+        });
     }
 
     @Transactional
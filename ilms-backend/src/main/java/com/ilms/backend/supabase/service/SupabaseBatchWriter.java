@@ -0,0 +1,128 @@
+package com.ilms.backend.supabase.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Writes rows to the Supabase (PostgreSQL) side as chunked multi-row
+ * {@code INSERT ... ON CONFLICT DO UPDATE} statements, one transaction per chunk.
+ * Only needs a {@link DataSource}, so it can be pointed at any local Postgres.
+ */
+public class SupabaseBatchWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SupabaseBatchWriter.class);
+
+    // PostgreSQL's wire protocol caps bind parameters per statement at 32767
+    private static final int MAX_BIND_PARAMETERS = 32767;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public SupabaseBatchWriter(DataSource dataSource, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.chunkSize = chunkSize;
+    }
+
+    public static Target target(String table) {
+        return new Target(table);
+    }
+
+    /**
+     * Upserts {@code rows} (values in {@link Target#columns} order) and returns the number
+     * of rows sent. Rows repeating a conflict key within one chunk are collapsed to the
+     * last one, since PostgreSQL rejects touching the same row twice in one statement.
+     */
+    public int upsert(Target target, List<Object[]> rows) {
+        int perStatement = Math.max(1, Math.min(chunkSize, MAX_BIND_PARAMETERS / target.columns.size()));
+        int written = 0;
+        for (int from = 0; from < rows.size(); from += perStatement) {
+            List<Object[]> chunk = dedupe(target, rows.subList(from, Math.min(rows.size(), from + perStatement)));
+            String sql = target.sql(chunk.size());
+            Object[] args = chunk.stream().flatMap(Arrays::stream).toArray();
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(sql, args));
+            written += chunk.size();
+        }
+        logger.debug("Upserted {} rows into {} in chunks of {}", written, target.table, perStatement);
+        return written;
+    }
+
+    private static List<Object[]> dedupe(Target target, List<Object[]> chunk) {
+        Map<List<Object>, Object[]> byKey = new LinkedHashMap<>();
+        for (Object[] row : chunk) {
+            List<Object> key = new ArrayList<>(target.conflictIndexes.length);
+            for (int i : target.conflictIndexes) {
+                key.add(row[i]);
+            }
+            byKey.put(key, row);
+        }
+        return byKey.size() == chunk.size() ? chunk : new ArrayList<>(byKey.values());
+    }
+
+    /**
+     * Table, column list and conflict key of one upsert target.
+     */
+    public static final class Target {
+        private final String table;
+        private List<String> columns = List.of();
+        private List<String> conflictColumns = List.of();
+        private Set<String> insertOnlyColumns = Set.of();
+        private int[] conflictIndexes = new int[0];
+
+        private Target(String table) {
+            this.table = table;
+        }
+
+        public Target columns(String... columns) {
+            this.columns = List.of(columns);
+            return this;
+        }
+
+        public Target conflictOn(String... conflictColumns) {
+            this.conflictColumns = List.of(conflictColumns);
+            this.conflictIndexes = this.conflictColumns.stream().mapToInt(c -> {
+                int i = columns.indexOf(c);
+                if (i < 0) {
+                    throw new IllegalArgumentException("Conflict column " + c + " is not in " + table + " columns");
+                }
+                return i;
+            }).toArray();
+            return this;
+        }
+
+        /** Columns written on insert but left alone when the row already exists. */
+        public Target insertOnly(String... insertOnlyColumns) {
+            this.insertOnlyColumns = Set.of(insertOnlyColumns);
+            return this;
+        }
+
+        String sql(int rowCount) {
+            String placeholders = columns.stream().map(c -> "?").collect(Collectors.joining(", ", "(", ")"));
+            String updates = columns.stream()
+                    .filter(c -> !conflictColumns.contains(c) && !insertOnlyColumns.contains(c))
+                    .map(c -> c + " = EXCLUDED." + c)
+                    .collect(Collectors.joining(", "));
+            return "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES "
+                    + String.join(", ", Collections.nCopies(rowCount, placeholders))
+                    + " ON CONFLICT (" + String.join(", ", conflictColumns) + ") "
+                    + (updates.isEmpty() ? "DO NOTHING" : "DO UPDATE SET " + updates);
+        }
+    }
+}
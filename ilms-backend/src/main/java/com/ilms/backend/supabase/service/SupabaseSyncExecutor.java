@@ -0,0 +1,118 @@
+package com.ilms.backend.supabase.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs sync stages as a dependency graph: a stage starts as soon as the stages it
+ * depends on have finished, so independent branches run concurrently and a cycle
+ * takes roughly as long as its longest branch. A failed stage skips its dependents
+ * but not unrelated branches.
+ */
+public class SupabaseSyncExecutor implements AutoCloseable {
+
+    private final Map<String, Stage> stages = new LinkedHashMap<>();
+    private final ExecutorService executor;
+
+    public SupabaseSyncExecutor(int parallelism) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, parallelism), r -> {
+            Thread t = new Thread(r, "supabase-sync-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Adds a stage. Dependencies must already be registered, which keeps the graph acyclic.
+     */
+    public SupabaseSyncExecutor stage(String name, Runnable task, String... dependsOn) {
+        if (stages.containsKey(name)) {
+            throw new IllegalArgumentException("Duplicate sync stage " + name);
+        }
+        for (String dependency : dependsOn) {
+            if (!stages.containsKey(dependency)) {
+                throw new IllegalArgumentException("Sync stage " + name + " depends on unknown stage " + dependency);
+            }
+        }
+        stages.put(name, new Stage(name, task, List.of(dependsOn)));
+        return this;
+    }
+
+    /**
+     * Runs every stage once and blocks until all have completed or been skipped.
+     */
+    public Result run() {
+        long started = System.nanoTime();
+        Map<String, Duration> durations = Collections.synchronizedMap(new LinkedHashMap<>());
+        Map<String, CompletableFuture<Void>> futures = new LinkedHashMap<>();
+
+        // Registration order is a topological order, so dependencies are always present
+        for (Stage stage : stages.values()) {
+            CompletableFuture<?>[] upstream = stage.dependsOn.stream()
+                    .map(futures::get)
+                    .toArray(CompletableFuture[]::new);
+            futures.put(stage.name, CompletableFuture.allOf(upstream).thenRunAsync(() -> {
+                long stageStarted = System.nanoTime();
+                try {
+                    stage.task.run();
+                } finally {
+                    durations.put(stage.name, Duration.ofNanos(System.nanoTime() - stageStarted));
+                }
+            }, executor));
+        }
+
+        Map<String, Throwable> failures = new LinkedHashMap<>();
+        futures.forEach((name, future) -> {
+            try {
+                future.join();
+            } catch (CompletionException e) {
+                failures.put(name, e.getCause() != null ? e.getCause() : e);
+            }
+        });
+        return new Result(new LinkedHashMap<>(durations), failures, Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    public List<String> stageNames() {
+        return new ArrayList<>(stages.keySet());
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private record Stage(String name, Runnable task, List<String> dependsOn) {
+    }
+
+    /**
+     * Per-stage wall time of one run, for every stage that ran whether or not it failed, plus
+     * the stages that failed or were skipped because something upstream failed (both carry
+     * the root cause).
+     */
+    public record Result(Map<String, Duration> stageDurations, Map<String, Throwable> failures, Duration total) {
+
+        public boolean isSuccessful() {
+            return failures.isEmpty();
+        }
+
+        /**
+         * {@code success}, {@code failure}, or {@code skipped} for a stage that never started.
+         */
+        public String outcome(String stage) {
+            if (!failures.containsKey(stage)) {
+                return "success";
+            }
+            return stageDurations.containsKey(stage) ? "failure" : "skipped";
+        }
+    }
+}
@@ -2,9 +2,9 @@ package com.ilms.backend.supabase.service;
 
 import com.ilms.backend.entity.*;
 import com.ilms.backend.repository.*;
-import com.ilms.backend.supabase.entity.*;
-import com.ilms.backend.supabase.repository.*;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
@@ -12,9 +12,19 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.event.EventListener;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Service
 @ConditionalOnProperty(name = "supabase.sync.enabled", havingValue = "true")
@@ -22,11 +32,44 @@ public class SupabaseSyncService {
 
     private static final Logger logger = LoggerFactory.getLogger(SupabaseSyncService.class);
 
-    @Autowired
-    private MaterialRepository sqliteMaterialRepository; // Updated
+    private static final SupabaseBatchWriter.Target MATERIALS = SupabaseBatchWriter.target("materials")
+            .columns("id", "code", "name", "description", "type", "category", "status", "base_uom",
+                    "is_batch_managed", "is_serial_managed", "shelf_life_days", "min_stock", "max_stock",
+                    "gross_weight", "net_weight", "weight_uom", "length", "width", "height", "dimension_uom",
+                    "volume", "volume_uom", "is_hazmat", "hazmat_class", "un_number", "created_at", "updated_at")
+            .conflictOn("code")
+            .insertOnly("id"); // an existing Supabase row keeps its id
+
+    private static final SupabaseBatchWriter.Target HANDLING_PARAMETERS = SupabaseBatchWriter.target("handling_parameter")
+            .columns("material_code", "temperature_min", "temperature_max", "humidity_min", "humidity_max",
+                    "hazardous_class", "precautions", "env_parameters", "epc_format")
+            .conflictOn("material_code");
+
+    private static final SupabaseBatchWriter.Target MATERIAL_IMAGES = SupabaseBatchWriter.target("material_image")
+            .columns("id", "material_code", "type", "filename", "url")
+            .conflictOn("id");
+
+    private static final SupabaseBatchWriter.Target MATERIAL_DOCUMENTS = SupabaseBatchWriter.target("material_document")
+            .columns("id", "material_code", "doc_type", "filename", "url")
+            .conflictOn("id");
+
+    private static final SupabaseBatchWriter.Target PACKAGING_HIERARCHIES = SupabaseBatchWriter.target("packaging_hierarchy")
+            .columns("id", "name", "activation_from", "activation_to", "packaging_capacity_constraints",
+                    "gtin_assignment_format", "description")
+            .conflictOn("id");
+
+    private static final SupabaseBatchWriter.Target PACKAGING_LEVELS = SupabaseBatchWriter.target("packaging_level")
+            .columns("id", "hierarchy_id", "level_index", "level_code", "level_name", "contained_quantity",
+                    "dimensionsmm", "weightkg", "capacity_units", "id_tech", "barcode_type", "rfid_tag_type",
+                    "epc_format", "gtin_format", "default_label_copies", "is_returnable", "is_serialized")
+            .conflictOn("id");
+
+    private static final SupabaseBatchWriter.Target INVENTORY = SupabaseBatchWriter.target("inventory")
+            .columns("id", "material_code", "serial_number", "batch_number", "status", "location_code", "created_at")
+            .conflictOn("id");
 
     @Autowired
-    private SupabaseMaterialRepository supabaseMaterialRepository; // Updated
+    private MaterialRepository sqliteMaterialRepository; // Updated
 
     @Autowired
     private HandlingParameterRepository sqliteHandlingParameterRepository;
@@ -47,22 +90,68 @@ public class SupabaseSyncService {
     private InventoryRepository sqliteInventoryRepository;
 
     @Autowired
-    private SupabaseHandlingParameterRepository supabaseHandlingParameterRepository;
-
-    @Autowired
-    private SupabaseMaterialImageRepository supabaseMaterialImageRepository;
-
-    @Autowired
-    private SupabaseMaterialDocumentRepository supabaseMaterialDocumentRepository;
+    private SyncWatermarkRepository syncWatermarkRepository;
 
     @Autowired
-    private SupabasePackagingHierarchyRepository supabasePackagingHierarchyRepository;
+    private SupabaseBatchWriter supabaseBatchWriter;
 
     @Autowired
-    private SupabasePackagingLevelRepository supabasePackagingLevelRepository;
+    private MeterRegistry meterRegistry;
+
+    // Re-read this much before the stored watermark so rows committed late with an
+    // earlier updated_at are not skipped; re-pushing them is harmless.
+    @Value("${supabase.sync.watermark-overlap-ms:5000}")
+    private long watermarkOverlapMs;
+
+    @Value("${supabase.sync.parallelism:4}")
+    private int syncParallelism;
+
+    private SupabaseSyncExecutor syncExecutor;
+
+    // The startup run and the scheduler can fire together; only one cycle runs at a time
+    private final AtomicBoolean syncRunning = new AtomicBoolean();
+
+    private volatile SupabaseSyncExecutor.Result lastResult;
+
+    @PostConstruct
+    void buildSyncGraph() {
+        // Children reference their parent's key on the Supabase side, so parents go first;
+        // the material and packaging branches are independent of each other.
+        syncExecutor = new SupabaseSyncExecutor(syncParallelism)
+                .stage("materials", () -> syncChanged("materials",
+                        sqliteMaterialRepository::findAllByOrderByUpdatedAt,
+                        sqliteMaterialRepository::findByUpdatedAtGreaterThanOrderByUpdatedAt,
+                        Material::getUpdatedAt, this::syncMaterials))
+                .stage("handling_parameter", () -> syncChanged("handling_parameter",
+                        sqliteHandlingParameterRepository::findAllByOrderByUpdatedAt,
+                        sqliteHandlingParameterRepository::findByUpdatedAtGreaterThanOrderByUpdatedAt,
+                        HandlingParameter::getUpdatedAt, this::syncHandlingParameterData), "materials")
+                .stage("material_image", () -> syncChanged("material_image",
+                        sqliteMaterialImageRepository::findAllByOrderByUpdatedAt,
+                        sqliteMaterialImageRepository::findByUpdatedAtGreaterThanOrderByUpdatedAt,
+                        MaterialImage::getUpdatedAt, this::syncMaterialImageData), "materials")
+                .stage("material_document", () -> syncChanged("material_document",
+                        sqliteMaterialDocumentRepository::findAllByOrderByUpdatedAt,
+                        sqliteMaterialDocumentRepository::findByUpdatedAtGreaterThanOrderByUpdatedAt,
+                        MaterialDocument::getUpdatedAt, this::syncMaterialDocumentData), "materials")
+                .stage("inventory", () -> syncChanged("inventory",
+                        sqliteInventoryRepository::findAllByOrderByUpdatedAt,
+                        sqliteInventoryRepository::findByUpdatedAtGreaterThanOrderByUpdatedAt,
+                        Inventory::getUpdatedAt, this::syncInventoryData), "materials")
+                .stage("packaging_hierarchy", () -> syncChanged("packaging_hierarchy",
+                        sqlitePackagingHierarchyRepository::findAllByOrderByUpdatedAt,
+                        sqlitePackagingHierarchyRepository::findByUpdatedAtGreaterThanOrderByUpdatedAt,
+                        PackagingHierarchy::getUpdatedAt, this::syncPackagingHierarchyData))
+                .stage("packaging_level", () -> syncChanged("packaging_level",
+                        sqlitePackagingLevelRepository::findAllByOrderByUpdatedAt,
+                        sqlitePackagingLevelRepository::findByUpdatedAtGreaterThanOrderByUpdatedAt,
+                        PackagingLevel::getUpdatedAt, this::syncPackagingLevelData), "packaging_hierarchy");
+    }
 
-    @Autowired
-    private SupabaseInventoryRepository supabaseInventoryRepository;
+    @PreDestroy
+    void shutdownSyncExecutor() {
+        syncExecutor.close();
+    }
 
     @EventListener(ApplicationReadyEvent.class)
     public void init() {
@@ -70,196 +159,172 @@ public class SupabaseSyncService {
         syncDataToSupabase();
     }
 
-    @Scheduled(fixedRate = 60000)
+    // The first cycle is the ApplicationReady one; starting the schedule earlier races the startup seeding
+    @Scheduled(fixedRate = 60000, initialDelay = 60000)
     public void syncDataToSupabase() {
+        if (!syncRunning.compareAndSet(false, true)) {
+            logger.info("Previous Supabase sync still running, skipping this cycle.");
+            return;
+        }
         logger.info("Starting sync to Supabase...");
         try {
-            syncMaterials();
-            syncHandlingParameterData();
-            syncMaterialImageData();
-            syncMaterialDocumentData();
-            syncPackagingHierarchyData();
-            syncPackagingLevelData();
-            syncInventoryData();
-            logger.info("Sync to Supabase completed successfully.");
+            SupabaseSyncExecutor.Result result = syncExecutor.run();
+            lastResult = result;
+            recordMetrics(result);
+            result.failures().forEach((stage, cause) -> logger.error("Supabase sync stage {} failed", stage, cause));
+            logger.info("Sync to Supabase {} in {} ms, stages: {}",
+                    result.isSuccessful() ? "completed successfully" : "finished with failures",
+                    result.total().toMillis(), formatDurations(result.stageDurations()));
         } catch (Exception e) {
             logger.error("Error during Supabase sync", e);
+        } finally {
+            syncRunning.set(false);
+        }
+    }
+
+    /**
+     * Per-stage durations and failures of the most recent cycle, or {@code null} before the first one.
+     */
+    public SupabaseSyncExecutor.Result getLastResult() {
+        return lastResult;
+    }
+
+    /**
+     * One {@code ilms.supabase.sync.stage} sample per entity table and one {@code ilms.supabase.sync}
+     * sample per cycle, tagged with the outcome. Skipped stages record a zero duration so they
+     * still show up in the stage counts.
+     */
+    private void recordMetrics(SupabaseSyncExecutor.Result result) {
+        for (String stage : syncExecutor.stageNames()) {
+            meterRegistry.timer("ilms.supabase.sync.stage", "stage", stage, "outcome", result.outcome(stage))
+                    .record(result.stageDurations().getOrDefault(stage, Duration.ZERO));
         }
+        meterRegistry.timer("ilms.supabase.sync", "outcome", result.isSuccessful() ? "success" : "failure")
+                .record(result.total());
     }
 
-    private void syncMaterials() {
-        List<Material> sqliteMaterials = sqliteMaterialRepository.findAll();
-
-        for (Material m : sqliteMaterials) {
-            Optional<SupabaseMaterial> existing = supabaseMaterialRepository.findByCode(m.getCode());
-            SupabaseMaterial sm;
-            if (existing.isPresent()) {
-                sm = existing.get();
-                // Ensure ID assumes existing if needed, or if ID is different? Material uses
-                // UUID now.
-                // Assuming ID sync is handled by code lookup or we just update fields.
-            } else {
-                sm = new SupabaseMaterial();
-                sm.setCode(m.getCode());
-                sm.setId(m.getId()); // Sync ID
-            }
-
-            sm.setName(m.getName());
-            sm.setDescription(m.getDescription());
-            sm.setType(m.getType());
-            sm.setCategory(m.getCategory());
-            sm.setStatus(m.getStatus());
-            sm.setBaseUom(m.getBaseUom());
-            sm.setIsBatchManaged(m.getIsBatchManaged());
-            sm.setIsSerialManaged(m.getIsSerialManaged());
-            sm.setShelfLifeDays(m.getShelfLifeDays());
-            sm.setMinStock(m.getMinStock());
-            sm.setMaxStock(m.getMaxStock());
-            sm.setGrossWeight(m.getGrossWeight());
-            sm.setNetWeight(m.getNetWeight());
-            sm.setWeightUom(m.getWeightUom());
-            sm.setLength(m.getLength());
-            sm.setWidth(m.getWidth());
-            sm.setHeight(m.getHeight());
-            sm.setDimensionUom(m.getDimensionUom());
-            sm.setVolume(m.getVolume());
-            sm.setVolumeUom(m.getVolumeUom());
-            sm.setIsHazmat(m.getIsHazmat());
-            sm.setHazmatClass(m.getHazmatClass());
-            sm.setUnNumber(m.getUnNumber());
-            sm.setCreatedAt(m.getCreatedAt());
-            sm.setUpdatedAt(m.getUpdatedAt());
-
-            supabaseMaterialRepository.save(sm);
+    private static String formatDurations(Map<String, Duration> durations) {
+        StringJoiner joiner = new StringJoiner(", ");
+        durations.forEach((stage, d) -> joiner.add(stage + "=" + d.toMillis() + "ms"));
+        return joiner.toString();
+    }
+
+    /**
+     * Pushes only the rows of one table whose updated_at is past the persisted watermark,
+     * then advances the watermark. A missing watermark means a full scan; a failed push
+     * leaves the watermark untouched so the next run retries the same rows.
+     */
+    private <T> void syncChanged(String table, Supplier<List<T>> all, Function<LocalDateTime, List<T>> changedSince,
+            Function<T, LocalDateTime> updatedAt, Consumer<List<T>> push) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        SyncWatermark watermark = syncWatermarkRepository.findById(table).orElseGet(() -> {
+            SyncWatermark w = new SyncWatermark();
+            w.setTableName(table);
+            return w;
+        });
+        LocalDateTime previous = watermark.getLastUpdatedAt();
+        LocalDateTime since = previous != null ? previous.minus(Duration.ofMillis(watermarkOverlapMs)) : null;
+
+        List<T> changed = since != null ? changedSince.apply(since) : all.get();
+        if (!changed.isEmpty()) {
+            push.accept(changed);
+        }
+
+        // Rows are ordered by updated_at, so the last one carries the new high-water mark.
+        // Rows written before updated_at existed have none; after a full scan, fall back to
+        // the scan start so they are not re-read every cycle.
+        LocalDateTime newest = changed.isEmpty() ? null : updatedAt.apply(changed.get(changed.size() - 1));
+        if (newest == null && previous == null) {
+            newest = startedAt;
         }
+        if (newest != null && (previous == null || newest.isAfter(previous))) {
+            watermark.setLastUpdatedAt(newest);
+        }
+        watermark.setLastSyncedAt(LocalDateTime.now());
+        watermark.setRowsSynced((long) changed.size());
+        // Stages finish concurrently but SQLite takes one writer at a time
+        synchronized (syncWatermarkRepository) {
+            syncWatermarkRepository.save(watermark);
+        }
+        logger.debug("Synced {} changed {} rows since {}", changed.size(), table, since);
+    }
+
+    private void syncMaterials(List<Material> materials) {
+        List<Object[]> rows = new ArrayList<>(materials.size());
+        for (Material m : materials) {
+            rows.add(new Object[] { m.getId(), m.getCode(), m.getName(), m.getDescription(), m.getType(),
+                    m.getCategory(), m.getStatus(), m.getBaseUom(), m.getIsBatchManaged(), m.getIsSerialManaged(),
+                    m.getShelfLifeDays(), m.getMinStock(), m.getMaxStock(), m.getGrossWeight(), m.getNetWeight(),
+                    m.getWeightUom(), m.getLength(), m.getWidth(), m.getHeight(), m.getDimensionUom(),
+                    m.getVolume(), m.getVolumeUom(), m.getIsHazmat(), m.getHazmatClass(), m.getUnNumber(),
+                    m.getCreatedAt(), m.getUpdatedAt() });
+        }
+        supabaseBatchWriter.upsert(MATERIALS, rows);
     }
 
-    private void syncHandlingParameterData() {
-        List<HandlingParameter> params = sqliteHandlingParameterRepository.findAll();
+    private void syncHandlingParameterData(List<HandlingParameter> params) {
+        List<Object[]> rows = new ArrayList<>(params.size());
         for (HandlingParameter p : params) {
             if (p.getMaterial() == null)
                 continue;
-            // Lookup by material code
-            Optional<SupabaseHandlingParameter> existing = supabaseHandlingParameterRepository
-                    .findByMaterialCode(p.getMaterial().getCode()); // Use getCode()
-
-            SupabaseHandlingParameter sp;
-            if (existing.isPresent()) {
-                sp = existing.get();
-            } else {
-                sp = new SupabaseHandlingParameter();
-                sp.setMaterialCode(p.getMaterial().getCode());
-            }
-
-            sp.setTemperatureMin(p.getTemperatureMin());
-            sp.setTemperatureMax(p.getTemperatureMax());
-            sp.setHumidityMin(p.getHumidityMin());
-            sp.setHumidityMax(p.getHumidityMax());
-            sp.setHazardousClass(p.getHazardousClass());
-            sp.setPrecautions(p.getPrecautions());
-            sp.setEnvParameters(p.getEnvParameters());
-            sp.setEpcFormat(p.getEpcFormat());
-
-            supabaseHandlingParameterRepository.save(sp);
+            rows.add(new Object[] { p.getMaterial().getCode(), p.getTemperatureMin(), p.getTemperatureMax(),
+                    p.getHumidityMin(), p.getHumidityMax(), p.getHazardousClass(), p.getPrecautions(),
+                    p.getEnvParameters(), p.getEpcFormat() });
         }
+        supabaseBatchWriter.upsert(HANDLING_PARAMETERS, rows);
     }
 
-    private void syncMaterialImageData() {
-        List<MaterialImage> images = sqliteMaterialImageRepository.findAll();
+    private void syncMaterialImageData(List<MaterialImage> images) {
+        List<Object[]> rows = new ArrayList<>(images.size());
         for (MaterialImage img : images) {
             if (img.getMaterial() == null)
                 continue;
-            Optional<SupabaseMaterialImage> existing = supabaseMaterialImageRepository.findById(img.getId());
-            SupabaseMaterialImage sImg = existing.orElse(new SupabaseMaterialImage());
-
-            sImg.setMaterialCode(img.getMaterial().getCode()); // Use getCode()
-            sImg.setType(img.getType());
-            sImg.setFilename(img.getFilename());
-            sImg.setUrl(img.getUrl());
-            supabaseMaterialImageRepository.save(sImg);
+            rows.add(new Object[] { img.getId(), img.getMaterial().getCode(), img.getType(), img.getFilename(),
+                    img.getUrl() });
         }
+        supabaseBatchWriter.upsert(MATERIAL_IMAGES, rows);
     }
 
-    private void syncMaterialDocumentData() {
-        List<MaterialDocument> docs = sqliteMaterialDocumentRepository.findAll();
+    private void syncMaterialDocumentData(List<MaterialDocument> docs) {
+        List<Object[]> rows = new ArrayList<>(docs.size());
         for (MaterialDocument doc : docs) {
             if (doc.getMaterial() == null)
                 continue;
-            Optional<SupabaseMaterialDocument> existing = supabaseMaterialDocumentRepository.findById(doc.getId());
-            SupabaseMaterialDocument sDoc = existing.orElse(new SupabaseMaterialDocument());
-
-            sDoc.setMaterialCode(doc.getMaterial().getCode()); // Use getCode()
-            sDoc.setDocType(doc.getDocType());
-            sDoc.setFilename(doc.getFilename());
-            sDoc.setUrl(doc.getUrl());
-            supabaseMaterialDocumentRepository.save(sDoc);
+            rows.add(new Object[] { doc.getId(), doc.getMaterial().getCode(), doc.getDocType(), doc.getFilename(),
+                    doc.getUrl() });
         }
+        supabaseBatchWriter.upsert(MATERIAL_DOCUMENTS, rows);
     }
 
-    // ... Other sync methods (PackagingHierarchy, PackagingLevel) remain largely
-    // same unless they linked to Material
-    // PackagingLevel might link to LabelTemplate which links to Material, but sync
-    // logic for PackagingLevel doesn't traverse deep usually.
-
-    private void syncPackagingHierarchyData() {
-        List<PackagingHierarchy> items = sqlitePackagingHierarchyRepository.findAll();
+    private void syncPackagingHierarchyData(List<PackagingHierarchy> items) {
+        List<Object[]> rows = new ArrayList<>(items.size());
         for (PackagingHierarchy item : items) {
-            SupabasePackagingHierarchy sItem = supabasePackagingHierarchyRepository.findById(item.getId())
-                    .orElse(new SupabasePackagingHierarchy());
-            sItem.setName(item.getName());
-            sItem.setActivationFrom(item.getActivationFrom());
-            sItem.setActivationTo(item.getActivationTo());
-            sItem.setPackagingCapacityConstraints(item.getPackagingCapacityConstraints());
-            sItem.setGtinAssignmentFormat(item.getGtinAssignmentFormat());
-            sItem.setDescription(item.getDescription());
-            supabasePackagingHierarchyRepository.save(sItem);
+            rows.add(new Object[] { item.getId(), item.getName(), item.getActivationFrom(), item.getActivationTo(),
+                    item.getPackagingCapacityConstraints(), item.getGtinAssignmentFormat(), item.getDescription() });
         }
+        supabaseBatchWriter.upsert(PACKAGING_HIERARCHIES, rows);
     }
 
-    private void syncPackagingLevelData() {
-        List<PackagingLevel> items = sqlitePackagingLevelRepository.findAll();
+    private void syncPackagingLevelData(List<PackagingLevel> items) {
+        List<Object[]> rows = new ArrayList<>(items.size());
         for (PackagingLevel item : items) {
-            SupabasePackagingLevel sItem = supabasePackagingLevelRepository.findById(item.getId())
-                    .orElse(new SupabasePackagingLevel());
-            if (item.getHierarchy() != null)
-                sItem.setHierarchyId(item.getHierarchy().getId());
-            sItem.setLevelIndex(item.getLevelIndex());
-            sItem.setLevelCode(item.getLevelCode());
-            sItem.setLevelName(item.getLevelName());
-            sItem.setContainedQuantity(item.getContainedQuantity());
-            sItem.setDimensionsMM(item.getDimensionsMM());
-            sItem.setWeightKg(item.getWeightKg());
-            sItem.setCapacityUnits(item.getCapacityUnits());
-            sItem.setIdTech(item.getIdTech());
-            sItem.setBarcodeType(item.getBarcodeType());
-            sItem.setRfidTagType(item.getRfidTagType());
-            sItem.setEpcFormat(item.getEpcFormat());
-            // Label Template? sItem.setLabelTemplate(item.getLabelTemplate());
-            sItem.setGtinFormat(item.getGtinFormat());
-            sItem.setDefaultLabelCopies(item.getDefaultLabelCopies());
-            sItem.setReturnable(item.getIsReturnable());
-            sItem.setSerialized(item.getIsSerialized());
-            supabasePackagingLevelRepository.save(sItem);
+            // Label Template is not replicated
+            rows.add(new Object[] { item.getId(), item.getHierarchy() != null ? item.getHierarchy().getId() : null,
+                    item.getLevelIndex(), item.getLevelCode(), item.getLevelName(), item.getContainedQuantity(),
+                    item.getDimensionsMM(), item.getWeightKg(), item.getCapacityUnits(), item.getIdTech(),
+                    item.getBarcodeType(), item.getRfidTagType(), item.getEpcFormat(), item.getGtinFormat(),
+                    item.getDefaultLabelCopies(), item.getIsReturnable(), item.getIsSerialized() });
         }
+        supabaseBatchWriter.upsert(PACKAGING_LEVELS, rows);
     }
 
-    private void syncInventoryData() {
-        List<Inventory> invList = sqliteInventoryRepository.findAll();
+    private void syncInventoryData(List<Inventory> invList) {
+        List<Object[]> rows = new ArrayList<>(invList.size());
         for (Inventory inv : invList) {
-            SupabaseInventory sInv = supabaseInventoryRepository.findById(inv.getId()).orElse(new SupabaseInventory());
-            if (inv.getId() != null)
-                sInv.setId(inv.getId());
-
-            if (inv.getMaterial() != null)
-                sInv.setMaterialCode(inv.getMaterial().getCode()); // Use getCode()
-            sInv.setSerialNumber(inv.getSerialNumber());
-            sInv.setBatchNumber(inv.getBatchNumber());
-            sInv.setStatus(inv.getStatus());
-            if (inv.getLocation() != null) {
-                sInv.setLocationCode(inv.getLocation().getCode());
-            }
-            sInv.setCreatedAt(inv.getCreatedAt());
-            supabaseInventoryRepository.save(sInv);
+            rows.add(new Object[] { inv.getId(), inv.getMaterial() != null ? inv.getMaterial().getCode() : null,
+                    inv.getSerialNumber(), inv.getBatchNumber(), inv.getStatus(),
+                    inv.getLocation() != null ? inv.getLocation().getCode() : null, inv.getCreatedAt() });
         }
+        supabaseBatchWriter.upsert(INVENTORY, rows);
     }
-}
\ No newline at end of file
+}
@@ -90,6 +90,7 @@ CREATE TABLE IF NOT EXISTS handling_parameter (
     precautions TEXT,
     env_parameters TEXT,
     epc_format TEXT,
+    updated_at DATETIME,
     FOREIGN KEY(material_id) REFERENCES materials(id)
 );
 
@@ -100,6 +101,7 @@ CREATE TABLE IF NOT EXISTS material_image (
     type TEXT,
     filename TEXT,
     url TEXT,
+    updated_at DATETIME,
     FOREIGN KEY(material_id) REFERENCES materials(id)
 );
 
@@ -110,6 +112,7 @@ CREATE TABLE IF NOT EXISTS material_document (
     doc_type TEXT,
     filename TEXT,
     url TEXT,
+    updated_at DATETIME,
     FOREIGN KEY(material_id) REFERENCES materials(id)
 );
 
@@ -121,7 +124,8 @@ CREATE TABLE IF NOT EXISTS packaging_hierarchy (
     activation_to DATE,
     packaging_capacity_constraints INTEGER,
     gtin_assignment_format TEXT,
-    description TEXT
+    description TEXT,
+    updated_at DATETIME
 );
 
 -- 8. Packaging Levels
@@ -144,6 +148,7 @@ CREATE TABLE IF NOT EXISTS packaging_level (
     default_label_copies INTEGER,
     is_returnable INTEGER,
     is_serialized INTEGER,
+    updated_at DATETIME,
     FOREIGN KEY(hierarchy_id) REFERENCES packaging_hierarchy(id)
 );
 
@@ -188,6 +193,7 @@ CREATE TABLE IF NOT EXISTS inventory (
     location_id TEXT,
     box_id INTEGER,
     created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+    updated_at DATETIME,
     FOREIGN KEY(material_id) REFERENCES materials(id),
     FOREIGN KEY(location_id) REFERENCES locations(id),
     FOREIGN KEY(box_id) REFERENCES box(id)
@@ -221,8 +227,64 @@ CREATE TABLE IF NOT EXISTS trace_event (
     FOREIGN KEY(container_id) REFERENCES container_unit(id)
 );
 
+-- 13. Id block counters (bulk inserts reserve contiguous id ranges here)
+CREATE TABLE IF NOT EXISTS id_block_counter (
+    name TEXT PRIMARY KEY,
+    last_id INTEGER NOT NULL
+);
+INSERT OR IGNORE INTO id_block_counter (name, last_id) VALUES ('inventory', 0);
+INSERT OR IGNORE INTO id_block_counter (name, last_id) VALUES ('container_unit', 0);
+
+-- 14. Sync watermarks (last updated_at pushed to Supabase per table)
+CREATE TABLE IF NOT EXISTS sync_watermark (
+    table_name TEXT PRIMARY KEY,
+    last_updated_at DATETIME,
+    last_synced_at DATETIME,
+    rows_synced INTEGER
+);
+
+-- 15. Location closure (every ancestor/descendant pair of the location tree, self at depth 0)
+CREATE TABLE IF NOT EXISTS location_closure (
+    ancestor_id TEXT NOT NULL,
+    descendant_id TEXT NOT NULL,
+    depth INTEGER NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id),
+    FOREIGN KEY(ancestor_id) REFERENCES locations(id),
+    FOREIGN KEY(descendant_id) REFERENCES locations(id)
+);
+
+-- 16. Serial registry (any item or container serial -> kind and id; maintained by triggers
+--     installed at startup, see SerialRegistryRepository)
+CREATE TABLE IF NOT EXISTS serial_registry (
+    serial_number TEXT PRIMARY KEY,
+    kind TEXT NOT NULL, -- ITEM, CONTAINER
+    entity_id INTEGER NOT NULL
+) WITHOUT ROWID;
+
+-- 17. Serial counters (last serial value leased per material and batch; '' when unbatched)
+CREATE TABLE IF NOT EXISTS serial_counter (
+    material_id TEXT NOT NULL,
+    batch_number TEXT NOT NULL,
+    last_value INTEGER NOT NULL,
+    PRIMARY KEY (material_id, batch_number)
+) WITHOUT ROWID;
+
 -- Indexes
 CREATE INDEX IF NOT EXISTS idx_locations_parent ON locations(parent_id);
+CREATE INDEX IF NOT EXISTS idx_location_closure_descendant ON location_closure(descendant_id, depth);
 CREATE INDEX IF NOT EXISTS idx_materials_type ON materials(type);
 CREATE INDEX IF NOT EXISTS idx_inventory_material ON inventory(material_id);
 CREATE INDEX IF NOT EXISTS idx_inventory_location ON inventory(location_id);
+CREATE INDEX IF NOT EXISTS idx_inventory_updated_at ON inventory(updated_at);
+CREATE INDEX IF NOT EXISTS idx_materials_updated_at ON materials(updated_at);
+CREATE INDEX IF NOT EXISTS idx_handling_parameter_updated_at ON handling_parameter(updated_at);
+CREATE INDEX IF NOT EXISTS idx_material_image_updated_at ON material_image(updated_at);
+CREATE INDEX IF NOT EXISTS idx_material_document_updated_at ON material_document(updated_at);
+CREATE INDEX IF NOT EXISTS idx_packaging_hierarchy_updated_at ON packaging_hierarchy(updated_at);
+CREATE INDEX IF NOT EXISTS idx_packaging_level_updated_at ON packaging_level(updated_at);
+CREATE INDEX IF NOT EXISTS idx_inventory_status ON inventory(status);
+CREATE INDEX IF NOT EXISTS idx_inventory_batch ON inventory(batch_number);
+CREATE INDEX IF NOT EXISTS idx_trace_event_inventory ON trace_event(inventory_id, timestamp);
+CREATE INDEX IF NOT EXISTS idx_trace_event_container ON trace_event(container_id, timestamp);
+CREATE INDEX IF NOT EXISTS idx_container_unit_parent ON container_unit(parent_container_id);
+CREATE INDEX IF NOT EXISTS idx_inventory_box ON inventory(box_id);
@@ -0,0 +1,44 @@
+package com.ilms.backend.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Accept-Encoding negotiation for the streamed exports.
+ */
+class ExportControllerTest {
+
+    @Test
+    void gzipIsUsedWhenListedWithoutQuality() {
+        assertTrue(ExportController.acceptsGzip("gzip"));
+        assertTrue(ExportController.acceptsGzip("deflate, gzip, br"));
+        assertTrue(ExportController.acceptsGzip("GZIP;q=0.5"));
+        assertTrue(ExportController.acceptsGzip("x-gzip"));
+    }
+
+    @Test
+    void zeroQualityRefusesGzip() {
+        assertFalse(ExportController.acceptsGzip("gzip;q=0"));
+        assertFalse(ExportController.acceptsGzip("br, gzip ; q=0.0"));
+        assertFalse(ExportController.acceptsGzip("*, gzip;q=0"));
+    }
+
+    @Test
+    void wildcardAppliesOnlyWithoutAnExplicitGzipEntry() {
+        assertTrue(ExportController.acceptsGzip("*"));
+        assertTrue(ExportController.acceptsGzip("identity, *;q=0.1"));
+        assertFalse(ExportController.acceptsGzip("*;q=0"));
+        assertTrue(ExportController.acceptsGzip("gzip;q=1, *;q=0"));
+    }
+
+    @Test
+    void missingOrMalformedHeaderFallsBackToIdentity() {
+        assertFalse(ExportController.acceptsGzip(null));
+        assertFalse(ExportController.acceptsGzip(""));
+        assertFalse(ExportController.acceptsGzip("identity"));
+        assertFalse(ExportController.acceptsGzip("gzip;q=high"));
+        assertFalse(ExportController.acceptsGzip("gzipped"));
+    }
+}
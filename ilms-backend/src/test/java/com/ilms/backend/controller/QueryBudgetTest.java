@@ -0,0 +1,185 @@
+package com.ilms.backend.controller;
+
+import com.ilms.backend.config.StatementCounter;
+import com.ilms.backend.dto.AggregationRequest;
+import com.ilms.backend.entity.Inventory;
+import com.ilms.backend.service.AggregationService;
+import com.ilms.backend.service.InventoryService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.hasItems;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the list, trace history and packing endpoints against a seeded database with the query
+ * budget in FAIL mode, so an N+1 regression fails the request, and pins their statement counts.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryBudgetTest {
+
+    private static final int ITEMS = 60;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        Path db = Files.createTempDirectory("ilms-budget").resolve("ilms.db");
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + db);
+    }
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private AggregationService aggregationService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private List<Inventory> items;
+    private String materialCode;
+    private String locationCode;
+
+    @BeforeAll
+    void seed() {
+        materialCode = jdbc.queryForObject("SELECT code FROM materials ORDER BY code LIMIT 1", String.class);
+        locationCode = jdbc.queryForObject("SELECT code FROM locations WHERE parent_id IS NOT NULL"
+                + " ORDER BY code LIMIT 1", String.class);
+        items = inventoryService.registerBatch(materialCode, "BUDGET-1", ITEMS);
+        jdbc.update("UPDATE inventory SET location_id = (SELECT id FROM locations WHERE code = ?)"
+                + " WHERE batch_number = 'BUDGET-1'", locationCode);
+        for (int i = 0; i < 20; i++) {
+            jdbc.update("INSERT INTO trace_event (event_type, inventory_id, timestamp)"
+                    + " VALUES ('SCAN', ?, CURRENT_TIMESTAMP)", items.get(0).getId());
+        }
+        // Items 50-54 in a box on a pallet; pack-box uses items 1-45
+        AggregationRequest.Assignment box = new AggregationRequest.Assignment("GEN-BOX-1",
+                items.subList(50, 55).stream().map(Inventory::getSerialNumber).toList());
+        AggregationRequest.Assignment pallet = new AggregationRequest.Assignment("GEN-PAL-1", List.of("GEN-BOX-1"));
+        aggregationService.aggregate(new AggregationRequest(List.of(box), List.of(pallet)));
+    }
+
+    @Test
+    void inventoryListIsOneProjectedQuery() throws Exception {
+        assertEquals(1, statements("/api/inventory", get("/api/inventory").param("limit", "50"),
+                jsonPath("$.items.length()").value(50)));
+    }
+
+    @Test
+    void inventoryListFiltersByCodesWithoutLoadingEntities() throws Exception {
+        // The material lookup may be answered by the query cache, so only the bound is fixed
+        long statements = statements("/api/inventory", get("/api/inventory").param("limit", "50")
+                .param("materialCode", materialCode).param("locationCode", locationCode),
+                jsonPath("$.items.length()").value(50));
+        assertTrue(statements >= 2 && statements <= 3, statements + " statements");
+    }
+
+    @Test
+    void materialListIsOneQuery() throws Exception {
+        assertEquals(1, statements("/api/materials", get("/api/materials").param("limit", "50"),
+                jsonPath("$.items").isArray()));
+    }
+
+    @Test
+    void locationListIsOneQuery() throws Exception {
+        assertEquals(1, statements("/api/locations", get("/api/locations").param("limit", "50"),
+                jsonPath("$.items[0].parentId").exists()));
+    }
+
+    @Test
+    void traceHistoryIsARegistryProbeAndOneQuery() throws Exception {
+        assertEquals(2, statements("/api/trace/{serialNumber}",
+                get("/api/trace/{serial}", items.get(0).getSerialNumber()), jsonPath("$.length()").value(20)));
+    }
+
+    @Test
+    void traceHistoryOfUnknownSerialStopsAtTheBloomFilter() throws Exception {
+        assertEquals(0, statements("/api/trace/{serialNumber}", get("/api/trace/{serial}", "NO-SUCH-SERIAL"),
+                jsonPath("$.length()").value(0)));
+    }
+
+    @Test
+    void packBoxCostDoesNotGrowWithItems() throws Exception {
+        long few = statements("/api/inventory/pack-box", packBox("BUDGET-BOX-1", items.subList(1, 6)),
+                jsonPath("$.serialNumber").value("BUDGET-BOX-1"));
+        long many = statements("/api/inventory/pack-box", packBox("BUDGET-BOX-2", items.subList(6, 46)),
+                jsonPath("$.serialNumber").value("BUDGET-BOX-2"));
+        assertEquals(7, few);
+        assertEquals(few, many);
+    }
+
+    @Test
+    void genealogyContentsIsOneRecursiveQuery() throws Exception {
+        assertEquals(1, statements("/api/genealogy/{serialNumber}/contents",
+                get("/api/genealogy/{serial}/contents", "GEN-PAL-1"), jsonPath("$.length()").value(7)));
+    }
+
+    @Test
+    void genealogyAncestorsIsOneRecursiveQuery() throws Exception {
+        assertEquals(1, statements("/api/genealogy/{serialNumber}/ancestors",
+                get("/api/genealogy/{serial}/ancestors", items.get(50).getSerialNumber()),
+                jsonPath("$[*].serialNumber", hasItems("GEN-BOX-1", "GEN-PAL-1"))));
+    }
+
+    @Test
+    void failModeStopsTheFirstStatementOverBudget() {
+        try (StatementCounter.Scope scope = StatementCounter.open("test", 1, true)) {
+            jdbc.queryForObject("SELECT 1", Integer.class);
+            assertThrows(StatementCounter.QueryBudgetExceededException.class,
+                    () -> jdbc.queryForObject("SELECT 1", Integer.class));
+            assertEquals(2, scope.getStatements());
+        }
+    }
+
+    private static RequestBuilder packBox(String boxSerial, List<Inventory> boxItems) {
+        String ids = boxItems.stream().map(i -> String.valueOf(i.getId())).collect(Collectors.joining(","));
+        return post("/api/inventory/pack-box").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"inventoryIds\":[" + ids + "],\"boxSerial\":\"" + boxSerial + "\"}");
+    }
+
+    // Performs the request, expects 200 and returns the statements the interceptor counted for it
+    private long statements(String uri, RequestBuilder request, ResultMatcher body) throws Exception {
+        double before = recorded(uri);
+        mvc.perform(request).andExpect(status().isOk()).andExpect(body);
+        return Math.round(recorded(uri) - before);
+    }
+
+    private double recorded(String uri) {
+        DistributionSummary summary = meterRegistry.find("ilms.http.statements").tag("uri", uri).summary();
+        return summary != null ? summary.totalAmount() : 0;
+    }
+}
@@ -0,0 +1,186 @@
+package com.ilms.backend.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the incrementally maintained closure against one recomputed from {@code parent_id}
+ * after moves and deletes, on an in-memory SQLite database.
+ */
+class LocationClosureRepositoryImplTest {
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbc;
+    private LocationClosureRepositoryImpl closure;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:sqlite::memory:", true);
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE locations (id TEXT PRIMARY KEY, parent_id TEXT REFERENCES locations(id))");
+        jdbc.execute("CREATE TABLE location_closure (ancestor_id TEXT NOT NULL, descendant_id TEXT NOT NULL,"
+                + " depth INTEGER NOT NULL, PRIMARY KEY (ancestor_id, descendant_id))");
+        closure = new LocationClosureRepositoryImpl(jdbc);
+
+        // WH1 ─ ZA ─ RA1 ─ BA1a     WH2
+        //     │     └ RA2
+        //     └ ZB
+        insert("WH1", null);
+        insert("ZA", "WH1");
+        insert("RA1", "ZA");
+        insert("BA1a", "RA1");
+        insert("RA2", "ZA");
+        insert("ZB", "WH1");
+        insert("WH2", null);
+        closure.rebuildClosure();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Test
+    void rebuildMatchesParentLinks() {
+        assertClosureMatchesParents();
+        assertEquals(List.of("WH1", "ZA", "RA1", "BA1a"), ancestorPath("BA1a"));
+    }
+
+    @Test
+    void moveSubtreeUnderNewParent() {
+        Set<String> subtreeBefore = descendants("ZA");
+
+        reparent("ZA", "ZB");
+
+        assertClosureMatchesParents();
+        assertEquals(subtreeBefore, descendants("ZA"));
+        assertEquals(List.of("WH1", "ZB", "ZA", "RA1", "BA1a"), ancestorPath("BA1a"));
+        assertTrue(closure.isInSubtree("ZB", "BA1a"));
+        assertEquals(Set.of("ZB", "ZA", "RA1", "BA1a", "RA2"), descendants("ZB"));
+    }
+
+    @Test
+    void moveSubtreeAcrossRoots() {
+        reparent("RA1", "WH2");
+
+        assertClosureMatchesParents();
+        assertEquals(List.of("WH2", "RA1", "BA1a"), ancestorPath("BA1a"));
+        assertFalse(closure.isInSubtree("WH1", "BA1a"));
+        assertFalse(closure.isInSubtree("ZA", "RA1"));
+        assertEquals(Set.of("ZA", "RA2"), descendants("ZA"));
+    }
+
+    @Test
+    void moveSubtreeToRoot() {
+        reparent("ZA", null);
+
+        assertClosureMatchesParents();
+        assertEquals(List.of("ZA", "RA1", "BA1a"), ancestorPath("BA1a"));
+        assertEquals(Set.of("WH1", "ZB"), descendants("WH1"));
+    }
+
+    @Test
+    void moveToCurrentParentChangesNothing() {
+        Set<List<Object>> before = closureRows();
+
+        closure.moveSubtree("ZA", "WH1");
+
+        assertEquals(before, closureRows());
+    }
+
+    @Test
+    void moveLinksALocationMissingFromTheClosure() {
+        insert("ZC", "WH2");
+        closure.moveSubtree("ZC", "WH2");
+
+        assertClosureMatchesParents();
+        assertEquals(List.of("WH2", "ZC"), ancestorPath("ZC"));
+    }
+
+    @Test
+    void deleteSubtree() {
+        closure.deleteSubtree("ZA");
+        jdbc.update("DELETE FROM locations WHERE id IN ('ZA', 'RA1', 'RA2', 'BA1a')");
+
+        assertClosureMatchesParents();
+        assertEquals(Set.of("WH1", "ZB"), descendants("WH1"));
+        assertFalse(closure.isInSubtree("WH1", "BA1a"));
+    }
+
+    @Test
+    void incrementalUpdatesAnswerLikeAFullRebuild() {
+        reparent("ZA", "ZB");
+        reparent("RA2", "WH2");
+        reparent("ZB", null);
+        Set<List<Object>> incremental = closureRows();
+
+        closure.rebuildClosure();
+
+        assertEquals(closureRows(), incremental);
+    }
+
+    private void insert(String id, String parentId) {
+        jdbc.update("INSERT INTO locations (id, parent_id) VALUES (?, ?)", id, parentId);
+    }
+
+    private void reparent(String id, String parentId) {
+        jdbc.update("UPDATE locations SET parent_id = ? WHERE id = ?", parentId, id);
+        closure.moveSubtree(id, parentId);
+    }
+
+    private List<String> ancestorPath(String id) {
+        return jdbc.queryForList("SELECT ancestor_id FROM location_closure WHERE descendant_id = ?"
+                + " ORDER BY depth DESC", String.class, id);
+    }
+
+    private Set<String> descendants(String id) {
+        return new HashSet<>(jdbc.queryForList("SELECT descendant_id FROM location_closure WHERE ancestor_id = ?",
+                String.class, id));
+    }
+
+    private Set<List<Object>> closureRows() {
+        return new HashSet<>(jdbc.query("SELECT ancestor_id, descendant_id, depth FROM location_closure",
+                (rs, i) -> List.of(rs.getString(1), rs.getString(2), rs.getInt(3))));
+    }
+
+    private void assertClosureMatchesParents() {
+        Map<String, String> parents = new HashMap<>();
+        jdbc.query("SELECT id, parent_id FROM locations", rs -> {
+            parents.put(rs.getString(1), rs.getString(2));
+        });
+        Set<List<Object>> expected = new HashSet<>();
+        for (String id : parents.keySet()) {
+            List<String> chain = new ArrayList<>();
+            for (String node = id; node != null; node = parents.get(node)) {
+                chain.add(node);
+            }
+            for (int depth = 0; depth < chain.size(); depth++) {
+                expected.add(List.of(chain.get(depth), id, depth));
+            }
+        }
+        assertEquals(expected, closureRows());
+        for (String ancestor : parents.keySet()) {
+            for (String descendant : parents.keySet()) {
+                boolean below = false;
+                for (String node = descendant; node != null && !below; node = parents.get(node)) {
+                    below = node.equals(ancestor);
+                }
+                assertEquals(below, closure.isInSubtree(ancestor, descendant), ancestor + " -> " + descendant);
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.ilms.backend.service;
+
+import com.ilms.backend.entity.Material;
+import com.ilms.backend.repository.SerialCounterRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteDataSource;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Allocates serials from several threads and allocator instances sharing one SQLite file,
+ * standing in for concurrent requests and restarts, and checks that no values repeat.
+ */
+class SerialAllocatorTest {
+
+    private static final int THREADS = 8;
+    private static final int ALLOCATIONS_PER_THREAD = 150;
+
+    @TempDir
+    Path dir;
+
+    private SQLiteDataSource dataSource;
+    private SerialCounterRepository counterRepo;
+    private Material material;
+
+    @BeforeEach
+    void setUp() {
+        SQLiteConfig config = new SQLiteConfig();
+        config.setBusyTimeout(10_000);
+        config.setJournalMode(SQLiteConfig.JournalMode.WAL);
+        dataSource = new SQLiteDataSource(config);
+        dataSource.setUrl("jdbc:sqlite:" + dir.resolve("serials.db"));
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE serial_counter (material_id TEXT NOT NULL, batch_number TEXT NOT NULL,"
+                + " last_value INTEGER NOT NULL, PRIMARY KEY (material_id, batch_number)) WITHOUT ROWID");
+        counterRepo = new SerialCounterRepository(jdbc);
+        material = new Material();
+        material.setId("M-1");
+        material.setCode("MAT-1");
+    }
+
+    @Test
+    void concurrentAllocationsNeverOverlap() throws Exception {
+        SerialAllocator allocator = allocator(100);
+        List<SerialAllocator.Range> ranges = allocateConcurrently(List.of(allocator), List.of("B1", "B2"));
+
+        assertDisjoint(ranges);
+        assertUniqueSerials(ranges);
+    }
+
+    @Test
+    void restartsAndParallelInstancesNeverOverlap() throws Exception {
+        List<SerialAllocator.Range> ranges = new ArrayList<>();
+        // Each round starts fresh instances, dropping the unused rest of their leased blocks
+        for (int restart = 0; restart < 3; restart++) {
+            ranges.addAll(allocateConcurrently(List.of(allocator(100), allocator(37)), List.of("B1")));
+        }
+
+        assertDisjoint(ranges);
+        assertUniqueSerials(ranges);
+    }
+
+    @Test
+    void rolledBackLeaseIsNotServedFromMemory() {
+        SerialAllocator allocator = allocator(100);
+        TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        tx.executeWithoutResult(status -> {
+            allocator.allocate(material, "B1", 5);
+            status.setRollbackOnly();
+        });
+
+        List<SerialAllocator.Range> ranges = new ArrayList<>();
+        ranges.add(tx.execute(status -> allocator.allocate(material, "B1", 5)));
+        ranges.add(allocator.allocate(material, "B1", 5));
+        ranges.add(allocator(100).allocate(material, "B1", 5));
+
+        assertEquals(1, ranges.get(0).first());
+        assertDisjoint(ranges);
+    }
+
+    private SerialAllocator allocator(int blockSize) {
+        SerialAllocator allocator = new SerialAllocator(counterRepo);
+        ReflectionTestUtils.setField(allocator, "blockSize", blockSize);
+        ReflectionTestUtils.setField(allocator, "digits", 8);
+        return allocator;
+    }
+
+    private List<SerialAllocator.Range> allocateConcurrently(List<SerialAllocator> allocators, List<String> batches)
+            throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<List<SerialAllocator.Range>>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                SerialAllocator allocator = allocators.get(t % allocators.size());
+                futures.add(pool.submit(() -> {
+                    List<SerialAllocator.Range> taken = new ArrayList<>();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < ALLOCATIONS_PER_THREAD; i++) {
+                        String batch = batches.get(random.nextInt(batches.size()));
+                        // Occasionally more than a block, which leases a block of its own
+                        int count = random.nextInt(20) == 0 ? 150 : 1 + random.nextInt(30);
+                        taken.add(allocator.allocate(material, batch, count));
+                    }
+                    return taken;
+                }));
+            }
+            List<SerialAllocator.Range> ranges = new ArrayList<>();
+            for (Future<List<SerialAllocator.Range>> future : futures) {
+                ranges.addAll(future.get(60, TimeUnit.SECONDS));
+            }
+            return ranges;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void assertDisjoint(List<SerialAllocator.Range> ranges) {
+        for (String batch : ranges.stream().map(SerialAllocator.Range::batchNumber).distinct().toList()) {
+            List<SerialAllocator.Range> sorted = new ArrayList<>(ranges.stream()
+                    .filter(r -> r.batchNumber().equals(batch)).toList());
+            sorted.sort(Comparator.comparingLong(SerialAllocator.Range::first));
+            for (int i = 1; i < sorted.size(); i++) {
+                SerialAllocator.Range previous = sorted.get(i - 1);
+                SerialAllocator.Range current = sorted.get(i);
+                assertTrue(previous.first() + previous.count() <= current.first(),
+                        "Batch " + batch + ": " + previous + " overlaps " + current);
+            }
+        }
+    }
+
+    private static void assertUniqueSerials(List<SerialAllocator.Range> ranges) {
+        Set<String> serials = new HashSet<>();
+        int total = 0;
+        for (SerialAllocator.Range range : ranges) {
+            for (int i = 0; i < range.count(); i++) {
+                serials.add(range.serialAt(i));
+            }
+            total += range.count();
+        }
+        assertEquals(total, serials.size());
+    }
+}
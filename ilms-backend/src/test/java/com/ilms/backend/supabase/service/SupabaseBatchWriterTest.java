@@ -0,0 +1,121 @@
+package com.ilms.backend.supabase.service;
+
+import com.ilms.backend.config.StatementCounter;
+import com.ilms.backend.config.StatementCountingDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs the chunked upserts against an embedded PostgreSQL; skipped where it cannot start.
+ */
+class SupabaseBatchWriterTest {
+
+    private static EmbeddedPostgres postgres;
+    private static DataSource dataSource;
+    private static JdbcTemplate jdbc;
+
+    private static final SupabaseBatchWriter.Target ITEMS = SupabaseBatchWriter.target("items")
+            .columns("id", "name", "created_by")
+            .conflictOn("id")
+            .insertOnly("created_by");
+
+    @BeforeAll
+    static void startPostgres() {
+        try {
+            postgres = EmbeddedPostgres.start();
+        } catch (Exception | LinkageError e) {
+            assumeTrue(false, "Embedded PostgreSQL is not available: " + e);
+        }
+        dataSource = new StatementCountingDataSource(postgres.getPostgresDatabase());
+        jdbc = new JdbcTemplate(dataSource);
+    }
+
+    @AfterAll
+    static void stopPostgres() throws Exception {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @BeforeEach
+    void createTable() {
+        jdbc.execute("DROP TABLE IF EXISTS items");
+        jdbc.execute("CREATE TABLE items (id BIGINT PRIMARY KEY, name TEXT NOT NULL, created_by TEXT)");
+    }
+
+    @Test
+    void splitsStatementsAtTheBindParameterCap() {
+        // 3 columns: at most 32767 / 3 = 10922 rows per statement, whatever the chunk size
+        List<Object[]> rows = rows(0, 40_000, "v1");
+        try (StatementCounter.Scope scope = StatementCounter.open("upsert", 0, false)) {
+            assertEquals(40_000, new SupabaseBatchWriter(dataSource, 100_000).upsert(ITEMS, rows));
+            assertEquals(4, scope.getStatements());
+        }
+        assertEquals(40_000L, jdbc.queryForObject("SELECT COUNT(*) FROM items", Long.class));
+    }
+
+    @Test
+    void usesTheConfiguredChunkSizeBelowTheCap() {
+        try (StatementCounter.Scope scope = StatementCounter.open("upsert", 0, false)) {
+            new SupabaseBatchWriter(dataSource, 100).upsert(ITEMS, rows(0, 250, "v1"));
+            assertEquals(3, scope.getStatements());
+        }
+    }
+
+    @Test
+    void updatesExistingRowsButKeepsInsertOnlyColumns() {
+        SupabaseBatchWriter writer = new SupabaseBatchWriter(dataSource, 100);
+        writer.upsert(ITEMS, rows(0, 10, "v1"));
+        List<Object[]> changed = new ArrayList<>();
+        for (long id = 5; id < 15; id++) {
+            changed.add(new Object[] { id, "v2-" + id, "sync-2" });
+        }
+        writer.upsert(ITEMS, changed);
+
+        assertEquals(15L, jdbc.queryForObject("SELECT COUNT(*) FROM items", Long.class));
+        Map<String, Object> updated = jdbc.queryForMap("SELECT name, created_by FROM items WHERE id = 7");
+        assertEquals("v2-7", updated.get("name"));
+        assertEquals("sync-1", updated.get("created_by"));
+        assertEquals("v1-2", jdbc.queryForObject("SELECT name FROM items WHERE id = 2", String.class));
+        assertEquals("sync-2", jdbc.queryForObject("SELECT created_by FROM items WHERE id = 12", String.class));
+    }
+
+    @Test
+    void collapsesRepeatedKeysWithinAChunkToTheLastRow() {
+        List<Object[]> rows = List.of(new Object[] { 1L, "first", "a" }, new Object[] { 1L, "last", "a" },
+                new Object[] { 2L, "other", "a" });
+        assertEquals(2, new SupabaseBatchWriter(dataSource, 100).upsert(ITEMS, rows));
+        assertEquals("last", jdbc.queryForObject("SELECT name FROM items WHERE id = 1", String.class));
+    }
+
+    @Test
+    void rollsBackOnlyTheFailingChunk() {
+        // Chunks of 2: [0, 1] commits, [2, 3] fails on the NOT NULL name and leaves nothing behind
+        List<Object[]> rows = rows(0, 6, "v1");
+        rows.get(3)[1] = null;
+        assertThrows(RuntimeException.class, () -> new SupabaseBatchWriter(dataSource, 2).upsert(ITEMS, rows));
+
+        assertEquals(List.of(0L, 1L), jdbc.queryForList("SELECT id FROM items ORDER BY id", Long.class));
+    }
+
+    private static List<Object[]> rows(long from, long to, String version) {
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = from; id < to; id++) {
+            rows.add(new Object[] { id, version + "-" + id, "sync-1" });
+        }
+        return rows;
+    }
+}
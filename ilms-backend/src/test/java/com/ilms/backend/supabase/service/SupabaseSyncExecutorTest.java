@@ -0,0 +1,34 @@
+package com.ilms.backend.supabase.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SupabaseSyncExecutorTest {
+
+    @Test
+    void failedStagesKeepTheirDurationAndSkipOnlyTheirDependents() {
+        AtomicBoolean dependentRan = new AtomicBoolean();
+        try (SupabaseSyncExecutor executor = new SupabaseSyncExecutor(2)
+                .stage("materials", () -> {
+                    throw new IllegalStateException("push failed");
+                })
+                .stage("locations", () -> { })
+                .stage("inventory", () -> dependentRan.set(true), "materials", "locations")) {
+            SupabaseSyncExecutor.Result result = executor.run();
+
+            assertFalse(result.isSuccessful());
+            assertEquals("failure", result.outcome("materials"));
+            assertEquals("success", result.outcome("locations"));
+            assertEquals("skipped", result.outcome("inventory"));
+            assertTrue(result.stageDurations().containsKey("materials"));
+            assertFalse(result.stageDurations().containsKey("inventory"));
+            assertEquals("push failed", result.failures().get("inventory").getMessage());
+            assertFalse(dependentRan.get());
+        }
+    }
+}